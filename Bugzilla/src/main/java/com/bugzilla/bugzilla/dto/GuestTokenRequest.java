@@ -1,9 +0,0 @@
-package com.bugzilla.bugzilla.dto;
-
-import lombok.Data;
-
-@Data
-public class GuestTokenRequest {
-    private String dashboardId;
-
-}
@@ -1,13 +0,0 @@
-package com.bugzilla.bugzilla;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-@SpringBootTest
-class BugzillaApplicationTests {
-
-	@Test
-	void contextLoads() {
-	}
-
-}
@@ -1,11 +1,19 @@
 package com.gitdashboard;
 
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import com.microservices.common.config.RegistrationWarmup;
+import com.microservices.common.security.JwksKeyResolver;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
+@Import({RegistrationWarmup.class, ChunkStore.class, BackupStoreConfig.class, JwksKeyResolver.class})
 public class GitDashboardApplication {
 
     public static void main(String[] args) {
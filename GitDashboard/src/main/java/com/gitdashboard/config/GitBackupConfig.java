@@ -0,0 +1,27 @@
+package com.gitdashboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "git.backup")
+public class GitBackupConfig {
+    // Root of the backup store; holds a mirror per repository and its bundles
+    private String storeDir = "git-backups";
+
+    // Git executable used for clone, fetch and bundle
+    private String gitCommand = "git";
+
+    // Repositories backed up at the same time; further runs wait in the queue. A run requested while the
+    // queue is full is refused with 503, while a run of all repositories waits for room in the background
+    private int poolSize = 4;
+    private int queueCapacity = 100;
+
+    // Upper bound for a single git command
+    private long commandTimeoutMs = 30 * 60 * 1000L;
+
+    // Incremental bundles written before the next run starts a new chain with a full bundle
+    private int fullEvery = 30;
+}
@@ -1,5 +1,6 @@
 package com.gitdashboard.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,9 +31,10 @@ public class GitJwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && gitJwtUtils.validateJwtToken(jwt)) {
-                String username = gitJwtUtils.getUserNameFromJwtToken(jwt);
-                Collection<GrantedAuthority> authorities = gitJwtUtils.getAuthoritiesFromJwtToken(jwt);
+            Claims claims = jwt != null ? gitJwtUtils.getValidatedClaims(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
+                Collection<GrantedAuthority> authorities = gitJwtUtils.getAuthoritiesFromClaims(claims);
 
                 // Create authentication token with extracted authorities from JWT
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
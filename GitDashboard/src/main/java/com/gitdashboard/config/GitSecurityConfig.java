@@ -8,12 +8,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class GitSecurityConfig {
+    private static final WebExpressionAuthorizationManager LOCAL_SCRAPE =
+            new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')");
 
     @Autowired
     private GitJwtAuthenticationEntryPoint unauthorizedHandler;
@@ -31,6 +34,8 @@ public class GitSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers("/", "/error", "/favicon.ico").permitAll() // Add favicon.ico
+                        // Metrics and health are scraped from the same host only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").access(LOCAL_SCRAPE)
                         .requestMatchers("/api/git/home").permitAll()
                         .requestMatchers("/api/git/**").authenticated()
                         // Admin-only endpoints
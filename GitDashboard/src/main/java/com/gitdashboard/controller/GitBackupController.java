@@ -5,6 +5,7 @@ import com.gitdashboard.dto.GitBackupDto;
 import com.gitdashboard.model.GitBackup;
 import com.gitdashboard.service.GitBackupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +23,12 @@ public class GitBackupController {
         return ResponseEntity.ok(gitBackupService.getAllBackups());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PagedModel<GitBackupDto>> getBackupsPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new PagedModel<>(gitBackupService.getBackupsPage(page, Math.min(size, 500))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GitBackupDto> getBackupById(@PathVariable Long id) {
         return ResponseEntity.ok(gitBackupService.getBackupById(id));
@@ -53,8 +60,20 @@ public class GitBackupController {
         return ResponseEntity.ok(gitBackupService.updateBackup(id, backupDto));
     }
 
+    // Runs in the background; answers with the ids of the queued backups
+    @PostMapping("/run")
+    public ResponseEntity<List<Long>> runAllBackups() {
+        return ResponseEntity.accepted().body(gitBackupService.runAllBackups());
+    }
+
+    @PostMapping("/restore/{repositoryId}")
+    public ResponseEntity<Map<String, String>> restoreBackup(@PathVariable Long repositoryId) {
+        return ResponseEntity.ok(Map.of("path", gitBackupService.restoreBackup(repositoryId)));
+    }
+
+    // Runs in the background; answers with the backup as it is before the run, or 503 when the queue is full
     @PostMapping("/run/{repositoryId}")
     public ResponseEntity<GitBackupDto> runBackup(@PathVariable Long repositoryId) {
-        return ResponseEntity.ok(gitBackupService.runBackup(repositoryId));
+        return ResponseEntity.accepted().body(gitBackupService.runBackup(repositoryId));
     }
 }
\ No newline at end of file
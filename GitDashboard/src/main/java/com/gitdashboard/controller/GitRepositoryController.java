@@ -4,6 +4,7 @@ package com.gitdashboard.controller;
 import com.gitdashboard.dto.GitRepositoryDto;
 import com.gitdashboard.service.GitRepositoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,12 @@ public class GitRepositoryController {
         return ResponseEntity.ok(gitRepositoryService.getAllRepositories());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PagedModel<GitRepositoryDto>> getRepositoriesPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new PagedModel<>(gitRepositoryService.getRepositoriesPage(page, Math.min(size, 500))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GitRepositoryDto> getRepositoryById(@PathVariable Long id) {
         return ResponseEntity.ok(gitRepositoryService.getRepositoryById(id));
@@ -3,12 +3,15 @@ package com.gitdashboard.controller;
 import com.gitdashboard.dto.GitUserDto;
 import com.gitdashboard.service.GitUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 
+// User administration is rarely used: created on the first request rather than on startup
+@Lazy
 @RestController
 @RequestMapping("/api/git/users")
 public class GitUserController {
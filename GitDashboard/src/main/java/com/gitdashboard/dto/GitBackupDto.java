@@ -13,4 +13,9 @@ public class GitBackupDto {
     private String department;
     private GitBackup.BackupStatus backupStatus;
     private LocalDateTime lastBackupTime;
+    private String bundlePath;
+    private Long bundleSize;
+    private Long storedSize;
+    private String checksum;
+    private String lastError;
 }
\ No newline at end of file
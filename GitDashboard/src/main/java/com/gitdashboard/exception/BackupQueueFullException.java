@@ -0,0 +1,10 @@
+package com.gitdashboard.exception;
+
+/**
+ * The backup pool and its queue are full; the request may be retried later.
+ */
+public class BackupQueueFullException extends RuntimeException {
+    public BackupQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.gitdashboard.exception;
+
+public class GitBackupException extends RuntimeException {
+    public GitBackupException(String message) {
+        super(message);
+    }
+
+    public GitBackupException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
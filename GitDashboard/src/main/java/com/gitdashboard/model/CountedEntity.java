@@ -0,0 +1,15 @@
+package com.gitdashboard.model;
+
+/**
+ * Entities counted in a dashboard breakdown. The key an entity was last counted under is kept on the
+ * entity, so updates can move it from the old key to the new one.
+ */
+public interface CountedEntity {
+    DashboardBreakdown breakdown();
+
+    String counterKey();
+
+    String getCountedKey();
+
+    void setCountedKey(String countedKey);
+}
@@ -0,0 +1,8 @@
+package com.gitdashboard.model;
+
+/**
+ * The dashboard breakdowns an entity can be counted in.
+ */
+public enum DashboardBreakdown {
+    USERS_BY_ROLE, REPOS_BY_DEPARTMENT, BACKUPS_BY_STATUS
+}
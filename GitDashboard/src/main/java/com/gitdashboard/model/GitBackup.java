@@ -3,13 +3,17 @@ package com.gitdashboard.model;
 
 
 import jakarta.persistence.*;
+import com.gitdashboard.model.listener.DashboardCounterListener;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
+@EntityListeners(DashboardCounterListener.class)
 @Table(name = "git_backups")
-public class GitBackup {
+public class GitBackup implements CountedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -23,6 +27,37 @@ public class GitBackup {
 
     private LocalDateTime lastBackupTime;
 
+    // Bundle written by the last successful run, named in the chunk store
+    private String bundlePath;
+    private Long bundleSize;
+    // Bytes the bundle added to the store after dedup and compression
+    private Long storedSize;
+    private String checksum;
+
+    // Ref tips ("sha ref" lines) seen by the last successful run; unchanged tips skip the next run
+    @Lob
+    private String refTips;
+
+    // Error of the last failed run; cleared on success
+    @Column(length = 1000)
+    private String lastError;
+
+    // Key this entity is currently counted under in the dashboard breakdowns
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String countedKey;
+
+    @Override
+    public DashboardBreakdown breakdown() {
+        return DashboardBreakdown.BACKUPS_BY_STATUS;
+    }
+
+    @Override
+    public String counterKey() {
+        return backupStatus != null ? backupStatus.name() : null;
+    }
+
     public enum BackupStatus {
         COMPLETE, PENDING
     }
@@ -4,14 +4,19 @@ package com.gitdashboard.model;
 
 import jakarta.persistence.*;
 import jakarta.persistence.Table;
+import com.gitdashboard.model.listener.DashboardCounterListener;
+import org.hibernate.annotations.BatchSize;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Entity
+@EntityListeners(DashboardCounterListener.class)
 @Table(name = "git_repositories")
-public class GitRepository {
+public class GitRepository implements CountedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,7 +32,24 @@ public class GitRepository {
     private GitUser createdBy;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "repository_members", joinColumns = @JoinColumn(name = "repository_id"))
     @Column(name = "employee_id")
     private List<String> members;
+
+    // Key this entity is currently counted under in the dashboard breakdowns
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String countedKey;
+
+    @Override
+    public DashboardBreakdown breakdown() {
+        return DashboardBreakdown.REPOS_BY_DEPARTMENT;
+    }
+
+    @Override
+    public String counterKey() {
+        return department;
+    }
 }
\ No newline at end of file
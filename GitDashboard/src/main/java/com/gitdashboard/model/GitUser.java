@@ -1,12 +1,16 @@
 package com.gitdashboard.model;
 
 import jakarta.persistence.*;
+import com.gitdashboard.model.listener.DashboardCounterListener;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Entity
+@EntityListeners(DashboardCounterListener.class)
 @Table(name = "git_users")
-public class GitUser {
+public class GitUser implements CountedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,6 +26,22 @@ public class GitUser {
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    // Key this entity is currently counted under in the dashboard breakdowns
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String countedKey;
+
+    @Override
+    public DashboardBreakdown breakdown() {
+        return DashboardBreakdown.USERS_BY_ROLE;
+    }
+
+    @Override
+    public String counterKey() {
+        return role != null ? role.name() : null;
+    }
+
     public enum UserRole {
         DEVELOPER, REVIEWER, TESTER, ADMIN
     }
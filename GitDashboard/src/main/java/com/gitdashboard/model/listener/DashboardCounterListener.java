@@ -0,0 +1,55 @@
+package com.gitdashboard.model.listener;
+
+import com.gitdashboard.model.CountedEntity;
+import com.gitdashboard.service.DashboardCounters;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * JPA lifecycle listener feeding {@link DashboardCounters} from {@link CountedEntity} changes. It sits apart
+ * from the entities so that it is the only part of the model that depends on the service layer.
+ */
+@Component
+public class DashboardCounterListener {
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof CountedEntity counted) {
+            counted.setCountedKey(counted.counterKey());
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof CountedEntity counted) {
+            dashboardCounters.increment(counted.breakdown(), counted.counterKey());
+            counted.setCountedKey(counted.counterKey());
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof CountedEntity counted) {
+            String key = counted.counterKey();
+            if (!Objects.equals(counted.getCountedKey(), key)) {
+                dashboardCounters.move(counted.breakdown(), counted.getCountedKey(), key);
+                counted.setCountedKey(key);
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof CountedEntity counted) {
+            dashboardCounters.decrement(counted.breakdown(), counted.getCountedKey());
+        }
+    }
+}
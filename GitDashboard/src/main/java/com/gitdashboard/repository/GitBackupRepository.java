@@ -2,20 +2,30 @@
 package com.gitdashboard.repository;
 
 import com.gitdashboard.model.GitBackup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GitBackupRepository extends JpaRepository<GitBackup, Long> {
+    // List queries load the repository and its creator up front instead of one query per backup
+    @Override
+    @EntityGraph(attributePaths = {"repository", "repository.createdBy"})
+    List<GitBackup> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"repository", "repository.createdBy"})
+    Page<GitBackup> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"repository", "repository.createdBy"})
     List<GitBackup> findByBackupStatus(GitBackup.BackupStatus status);
     Optional<GitBackup> findByRepositoryId(Long repositoryId);
 
-    @Query("SELECT b.backupStatus, COUNT(b) FROM GitBackup b GROUP BY b.backupStatus")
-    List<Object[]> countByStatus();
-
-    @Query("SELECT COUNT(b) FROM GitBackup b WHERE b.backupStatus = 'COMPLETE'")
-    Long countCompleteBackups();
+    @EntityGraph(attributePaths = {"repository", "repository.createdBy"})
+    List<GitBackup> findByRepositoryIdIn(Collection<Long> repositoryIds);
 }
\ No newline at end of file
@@ -2,6 +2,9 @@
 package com.gitdashboard.repository;
 
 import com.gitdashboard.model.GitRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +13,26 @@ import java.util.List;
 @Repository
 public interface GitRepositoryRepository extends JpaRepository<GitRepository, Long> {
     List<GitRepository> findByDepartment(String department);
+
+    // List queries load the creator and members up front instead of one query per repository
+    @Override
+    @EntityGraph(attributePaths = {"createdBy", "members"})
+    List<GitRepository> findAll();
+
+    @EntityGraph(attributePaths = {"createdBy", "members"})
     List<GitRepository> findByProjectNameContainingIgnoreCase(String projectName);
 
-    @Query("SELECT r.department, COUNT(r) FROM GitRepository r GROUP BY r.department")
-    List<Object[]> countByDepartment();
+    // Members are batch-loaded per page (see GitRepository.members); a collection fetch join would page in memory
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Page<GitRepository> findAll(Pageable pageable);
+
+    // Every dashboard count in one round trip, as (category, key, count) rows
+    @Query(value = "SELECT 'total', 'users', COUNT(*) FROM git_users "
+            + "UNION ALL SELECT 'total', 'repositories', COUNT(*) FROM git_repositories "
+            + "UNION ALL SELECT 'role', role, COUNT(*) FROM git_users GROUP BY role "
+            + "UNION ALL SELECT 'department', department, COUNT(*) FROM git_repositories GROUP BY department "
+            + "UNION ALL SELECT 'status', backup_status, COUNT(*) FROM git_backups GROUP BY backup_status",
+            nativeQuery = true)
+    List<Object[]> dashboardSummaryCounts();
 }
\ No newline at end of file
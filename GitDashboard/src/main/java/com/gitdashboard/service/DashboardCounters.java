@@ -0,0 +1,201 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.model.DashboardBreakdown;
+import com.gitdashboard.repository.GitRepositoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory dashboard breakdowns, kept up to date by {@link com.gitdashboard.model.listener.DashboardCounterListener}
+ * so the summary endpoints do not hit the database. Counters are seeded on startup and periodically
+ * reconciled against the database to correct drift from bulk or out-of-band writes.
+ * <p>
+ * A reconcile does not overwrite the live counters. It records the updates committed while its query
+ * runs, builds new counters from the query result plus those updates, and swaps them in, so no update
+ * is lost to the swap. Updates take a shared lock that only the start and the swap hold exclusively;
+ * reads take no lock.
+ */
+@Component
+public class DashboardCounters {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    @Autowired
+    private GitRepositoryRepository gitRepositoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Map<DashboardBreakdown, CounterGroup> groups = newGroups();
+
+    // Updates since the running reconcile started its query, null when none runs; guarded by lock
+    private Map<DashboardBreakdown, CounterGroup> sinceQuery;
+
+    /**
+     * Count one entity under a key. Applied once the surrounding transaction commits.
+     */
+    public void increment(DashboardBreakdown breakdown, String key) {
+        afterCommit(() -> add(breakdown, key, 1));
+    }
+
+    /**
+     * Remove one entity from a key. Applied once the surrounding transaction commits.
+     */
+    public void decrement(DashboardBreakdown breakdown, String key) {
+        afterCommit(() -> add(breakdown, key, -1));
+    }
+
+    /**
+     * Move one entity from one key to another. Applied once the surrounding transaction commits.
+     */
+    public void move(DashboardBreakdown breakdown, String fromKey, String toKey) {
+        afterCommit(() -> {
+            add(breakdown, fromKey, -1);
+            add(breakdown, toKey, 1);
+        });
+    }
+
+    public Map<String, Long> getCounts(DashboardBreakdown breakdown) {
+        return groups.get(breakdown).snapshot();
+    }
+
+    public long getTotal(DashboardBreakdown breakdown) {
+        return groups.get(breakdown).total.sum();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-ms:300000}",
+            initialDelayString = "${dashboard.counters.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        Map<DashboardBreakdown, CounterGroup> reconciled = newGroups();
+
+        lock.writeLock().lock();
+        try {
+            sinceQuery = newGroups();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            for (Object[] row : gitRepositoryRepository.dashboardSummaryCounts()) {
+                DashboardBreakdown breakdown = switch ((String) row[0]) {
+                    case "role" -> DashboardBreakdown.USERS_BY_ROLE;
+                    case "department" -> DashboardBreakdown.REPOS_BY_DEPARTMENT;
+                    case "status" -> DashboardBreakdown.BACKUPS_BY_STATUS;
+                    default -> null;
+                };
+                if (breakdown != null) {
+                    reconciled.get(breakdown).add((String) row[1], ((Number) row[2]).longValue());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not reconcile dashboard counters: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                sinceQuery = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A transaction that committed just before the query but was applied after it started is
+            // counted twice until the next reconcile; one that committed later is counted once
+            sinceQuery.forEach((breakdown, updates) -> reconciled.get(breakdown).addAll(updates));
+            groups = reconciled;
+            sinceQuery = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Reconciled dashboard counters: {}", reconciled);
+    }
+
+    private void add(DashboardBreakdown breakdown, String key, long delta) {
+        lock.readLock().lock();
+        try {
+            groups.get(breakdown).add(key, delta);
+            if (sinceQuery != null) {
+                sinceQuery.get(breakdown).add(key, delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<DashboardBreakdown, CounterGroup> newGroups() {
+        Map<DashboardBreakdown, CounterGroup> groups = new EnumMap<>(DashboardBreakdown.class);
+        for (DashboardBreakdown breakdown : DashboardBreakdown.values()) {
+            groups.put(breakdown, new CounterGroup());
+        }
+        return groups;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Striped counters per key plus a total. A null key only counts towards the total.
+     */
+    private static class CounterGroup {
+        private final ConcurrentHashMap<String, LongAdder> byKey = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+
+        void add(String key, long delta) {
+            if (key != null) {
+                byKey.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+            total.add(delta);
+        }
+
+        // Only called while no updates run, under the exclusive lock
+        void addAll(CounterGroup other) {
+            other.byKey.forEach((key, adder) -> byKey.computeIfAbsent(key, k -> new LongAdder()).add(adder.sum()));
+            total.add(other.total.sum());
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> counts = new HashMap<>();
+            byKey.forEach((key, adder) -> {
+                long count = adder.sum();
+                if (count > 0) {
+                    counts.put(key, count);
+                }
+            });
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            return snapshot().toString();
+        }
+    }
+}
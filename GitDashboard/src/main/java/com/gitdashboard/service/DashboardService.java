@@ -1,10 +1,8 @@
-
 package com.gitdashboard.service;
 
 import com.gitdashboard.dto.DashboardSummaryDto;
-import com.gitdashboard.repository.GitUserRepository;
-import com.gitdashboard.repository.GitRepositoryRepository;
-import com.gitdashboard.repository.GitBackupRepository;
+import com.gitdashboard.model.DashboardBreakdown;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,17 +18,15 @@ public class DashboardService {
     private GitBackupService gitBackupService;
 
     @Autowired
-    private GitUserRepository gitUserRepository;
-
-    @Autowired
-    private GitRepositoryRepository gitRepositoryRepository;
+    private DashboardCounters dashboardCounters;
 
+    @Timed(value = "git.dashboard.summary", histogram = true)
     public DashboardSummaryDto getDashboardSummary() {
         DashboardSummaryDto summary = new DashboardSummaryDto();
 
-        // Count totals
-        long totalUsers = gitUserRepository.count();
-        long totalRepositories = gitRepositoryRepository.count();
+        // Counts are read from the in-memory counters, not the database
+        long totalUsers = dashboardCounters.getTotal(DashboardBreakdown.USERS_BY_ROLE);
+        long totalRepositories = dashboardCounters.getTotal(DashboardBreakdown.REPOS_BY_DEPARTMENT);
         long totalBackupsCompleted = gitBackupService.getCompletedBackupsCount();
 
         summary.setTotalUsers(totalUsers);
@@ -50,4 +46,4 @@ public class DashboardService {
 
         return summary;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.config.DataGeneratorConfig;
+import com.microservices.common.jdbc.BulkInsert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the database with synthetic users, repositories, memberships and backup records, so pagination,
+ * search and the dashboard can be measured at production scale. Enabled with {@code datagen.enabled};
+ * see {@link DataGeneratorConfig} for the sizes.
+ * <p>
+ * Rows bypass JPA and are written with multi-row inserts, several id ranges in parallel. Since that also
+ * bypasses the listeners feeding the dashboard counters, they are reconciled with the database once
+ * generation finishes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "datagen", name = "enabled", havingValue = "true")
+public class DataGenerator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    // Repeated values make the common case common, as in the real data
+    private static final String[] ROLES = {"DEVELOPER", "DEVELOPER", "DEVELOPER", "DEVELOPER", "REVIEWER", "TESTER", "ADMIN"};
+    private static final String[] GROUPS = {"Frontend", "Backend", "DevOps", "QA", "Mobile", "Data", "Security", "Platform"};
+
+    // Repositories are spread over this many days before now
+    private static final long HISTORY_DAYS = 3 * 365;
+
+    @Autowired
+    private DataGeneratorConfig config;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        boolean h2 = "H2".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+
+        long users = config.getUsers();
+        long repositories = config.getRepositories();
+        long firstUser = nextId("git_users");
+        long firstRepository = nextId("git_repositories");
+        long firstBackup = nextId("git_backups");
+        // One backup record per repository, for the first part of the generated repositories
+        long backups = (long) (repositories * config.getBackedUpRatio());
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try {
+            generate(executor, "git_users", List.of("id", "employee_id", "username", "group_name", "role"),
+                    users, (i, random, insert) -> {
+                        long id = firstUser + i;
+                        insert.add(id, employeeId(id), "gituser" + id, pick(random, GROUPS), pick(random, ROLES));
+                    });
+
+            generate(executor, "git_repositories", List.of("id", "project_name", "department", "git_url", "ssh_url",
+                    "created_date", "created_by"),
+                    repositories, (i, random, insert) -> {
+                        long id = firstRepository + i;
+                        insert.add(id, "project-" + id, pick(random, GROUPS),
+                                "https://git.example.com/project-" + id + ".git",
+                                "git@git.example.com:project-" + id + ".git",
+                                now.minusDays(random.nextLong(HISTORY_DAYS)),
+                                users > 0 ? firstUser + random.nextLong(users) : null);
+                    });
+
+            if (users > 0) {
+                generate(executor, "repository_members", List.of("repository_id", "employee_id"),
+                        repositories, (i, random, insert) -> {
+                            for (long userId : distinct(random, firstUser, users, config.getMembersPerRepository())) {
+                                insert.add(firstRepository + i, employeeId(userId));
+                            }
+                        });
+            }
+
+            generate(executor, "git_backups", List.of("id", "repository_id", "backup_status", "last_backup_time"),
+                    backups, (i, random, insert) -> {
+                        boolean complete = random.nextInt(10) < 8;
+                        insert.add(firstBackup + i, firstRepository + i, complete ? "COMPLETE" : "PENDING",
+                                now.minusMinutes(random.nextLong(complete ? 60 * 24 : 60 * 24 * 7)));
+                    });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // MySQL moves AUTO_INCREMENT past explicitly inserted ids by itself; H2 (used by the load-test stack)
+        // has to be told, or the next insert through JPA collides with a generated row
+        if (h2) {
+            restartIdentity("git_users", firstUser + users);
+            restartIdentity("git_repositories", firstRepository + repositories);
+            restartIdentity("git_backups", firstBackup + backups);
+        }
+
+        logger.info("Generated data in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        if (config.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+        dashboardCounters.reconcile();
+    }
+
+    /**
+     * Writes {@code count} rows, split into one contiguous index range per thread. Each range holds one
+     * pooled connection for its whole run, instead of borrowing one per statement, and has its own statement
+     * buffer and random generator, seeded from the range start so the data does not depend on the thread
+     * count or on scheduling. Statements still commit one by one, so a range is not one huge transaction.
+     */
+    private void generate(ExecutorService executor, String table, List<String> columns, long count, RowWriter writer)
+            throws InterruptedException, ExecutionException {
+        if (count <= 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        int threads = (int) Math.min(config.getThreads(), count);
+        long rangeSize = (count + threads - 1) / threads;
+
+        List<Future<Long>> ranges = new ArrayList<>();
+        for (long from = 0; from < count; from += rangeSize) {
+            long start = from;
+            long end = Math.min(count, from + rangeSize);
+            ranges.add(executor.submit(() -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                // Not closed: the connection goes back to the pool when the callback returns
+                JdbcTemplate rangeTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                SplittableRandom random = new SplittableRandom(config.getSeed() ^ table.hashCode() ^ start);
+                try (BulkInsert insert = new BulkInsert(rangeTemplate, table, columns, config.getRowsPerStatement())) {
+                    for (long i = start; i < end; i++) {
+                        writer.write(i, random, insert);
+                    }
+                    insert.flush();
+                    return insert.getWritten();
+                }
+            })));
+        }
+
+        long rows = 0;
+        for (Future<Long> range : ranges) {
+            rows += range.get();
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Generated {} rows in {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void restartIdentity(String table, long nextId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+    }
+
+    /**
+     * Between 1 and {@code 2 * mean - 1} distinct ids from {@code [first, first + count)}, evenly strided from a
+     * random start so no id repeats within one row's links.
+     */
+    private static long[] distinct(SplittableRandom random, long first, long count, int mean) {
+        int links = (int) Math.min(count, random.nextInt(1, Math.max(2, 2 * mean)));
+        long stride = count / links;
+        long base = random.nextLong(count);
+        long[] ids = new long[links];
+        for (int j = 0; j < links; j++) {
+            ids[j] = first + (base + j * stride) % count;
+        }
+        return ids;
+    }
+
+    private static String employeeId(long userId) {
+        return String.format("EMPG%07d", userId);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, SplittableRandom random, BulkInsert insert);
+    }
+}
@@ -0,0 +1,435 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.config.GitBackupConfig;
+import com.gitdashboard.exception.GitBackupException;
+import com.microservices.common.backup.ChunkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Backs up git repositories into a local store. Each repository keeps a bare mirror that is cloned once and
+ * then updated with an incremental fetch. Runs write a chain of bundles: a full bundle followed by incremental
+ * bundles holding only objects added since the previous run. Every run also records the ref map, each ref and
+ * the object it points at, since an incremental bundle only carries refs whose tips are new objects; a branch
+ * created at an existing commit, a rewound branch or a deleted ref exist only in the map. Bundles and ref maps
+ * are kept in the deduplicating {@link ChunkStore}, which also checksums them.
+ * <p>
+ * Runs on a bounded pool. A backup is never run on the submitting thread: when the pool and its queue are
+ * full, {@link #trySubmit} refuses it and {@link #submitWhenFree} waits for room. The source URL may be a
+ * local path, so the runner works against bare repositories on disk.
+ */
+@Component
+public class GitBackupRunner implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(GitBackupRunner.class);
+
+    private static final DateTimeFormatter BUNDLE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String FULL_SUFFIX = "-full";
+    private static final String INCREMENTAL_SUFFIX = "-incr";
+    // Sorts after the bundle written by the same run
+    private static final String REFS_SUFFIX = "-refs";
+
+    private final GitBackupConfig config;
+    private final ChunkStore chunkStore;
+    private final ThreadPoolExecutor executor;
+    // One permit per backup running or queued, so the executor's queue never overflows
+    private final Semaphore slots;
+
+    public GitBackupRunner(GitBackupConfig config, ChunkStore chunkStore) {
+        this.config = config;
+        this.chunkStore = chunkStore;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(), config.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "git-backup-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.slots = new Semaphore(config.getPoolSize() + config.getQueueCapacity());
+    }
+
+    /**
+     * Result of one backup run. {@code bundle} names the bundle in the {@link ChunkStore}, and {@code storedSize}
+     * counts the bytes it added to the store after dedup and compression. {@code bundle} is null when the run
+     * wrote no bundle: either the refs were unchanged ({@code skipped}) or the refs changed without adding
+     * objects, e.g. a new branch at an existing commit, a rewind or a deleted ref, and only the ref map was written.
+     */
+    public record BackupResult(String bundle, long size, long storedSize, String sha256, boolean full, boolean skipped,
+                               String refTips) {
+    }
+
+    /**
+     * Queue a backup, or return null when the pool and its queue are full.
+     */
+    public CompletableFuture<BackupResult> trySubmit(Long repositoryId, String sourceUrl, String previousRefTips) {
+        if (!slots.tryAcquire()) {
+            return null;
+        }
+        return start(repositoryId, sourceUrl, previousRefTips);
+    }
+
+    /**
+     * Queue a backup, waiting on the calling thread until the pool has room for it.
+     */
+    public CompletableFuture<BackupResult> submitWhenFree(Long repositoryId, String sourceUrl, String previousRefTips)
+            throws InterruptedException {
+        slots.acquire();
+        return start(repositoryId, sourceUrl, previousRefTips);
+    }
+
+    private CompletableFuture<BackupResult> start(Long repositoryId, String sourceUrl, String previousRefTips) {
+        try {
+            return CompletableFuture.supplyAsync(() -> backup(repositoryId, sourceUrl, previousRefTips), executor)
+                    .whenComplete((result, error) -> slots.release());
+        } catch (RejectedExecutionException e) {
+            // Only after shutdown
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Back up the repository at {@code sourceUrl}. Refs are first compared with {@code previousRefTips} through
+     * {@code ls-remote}, and an unchanged repository is skipped. Otherwise the mirror is updated and a bundle is
+     * written containing only objects not reachable from the previous tips, followed by the mirror's ref map. When
+     * the refs moved without adding objects only the ref map is written. A full bundle starts a new chain when
+     * there is no usable previous backup or the chain has reached {@code git.backup.full-every} incrementals.
+     */
+    public BackupResult backup(Long repositoryId, String sourceUrl, String previousRefTips) {
+        if (sourceUrl == null || sourceUrl.isBlank()) {
+            throw new GitBackupException("Repository " + repositoryId + " has no git or ssh URL");
+        }
+
+        Path mirror = mirrorDir(repositoryId);
+
+        try {
+            Files.createDirectories(mirror.getParent());
+
+            long start = System.currentTimeMillis();
+            String refTips = formatRefTips(git(null, null, "ls-remote", sourceUrl));
+            List<String> chain = bundles(bundleChain(repositoryId));
+            if (refTips.equals(previousRefTips) && Files.isDirectory(mirror) && !chain.isEmpty()) {
+                logger.debug("Repository {} unchanged since last backup, skipping", repositoryId);
+                return new BackupResult(null, 0, 0, null, false, true, refTips);
+            }
+
+            boolean mirrorExisted = Files.isDirectory(mirror);
+            if (mirrorExisted) {
+                // The URL may have changed since the mirror was created
+                git(mirror, null, "remote", "set-url", "origin", sourceUrl);
+                git(mirror, null, "fetch", "--prune", "origin");
+            } else {
+                git(null, null, "clone", "--mirror", sourceUrl, mirror.toString());
+            }
+
+            // The mirror's refs rather than the ls-remote listing, so the map matches the bundle
+            refTips = formatRefTips(git(mirror, null, "for-each-ref", "--format=%(objectname)%09%(refname)"));
+            Set<String> previousTips = parseTips(previousRefTips);
+            boolean full = !mirrorExisted || previousTips.isEmpty() || chain.isEmpty()
+                    || chain.size() > config.getFullEvery();
+
+            String entry = chainPrefix(repositoryId) + "/" + LocalDateTime.now().format(BUNDLE_NAME);
+            // Only tips still present in the mirror can be used as bundle prerequisites
+            List<String> basis = full ? List.of() : existingObjects(mirror, previousTips);
+            if (!full && !hasNewObjects(mirror, basis, refTips)) {
+                storeRefs(entry + REFS_SUFFIX, refTips);
+                logger.info("Backed up repository {} refs to {} in {} ms, no new objects", repositoryId,
+                        entry + REFS_SUFFIX, System.currentTimeMillis() - start);
+                return new BackupResult(null, 0, 0, null, false, false, refTips);
+            }
+
+            String name = entry + (full ? FULL_SUFFIX : INCREMENTAL_SUFFIX);
+            // Bundles are written to stdout and streamed into the store, never staged on disk
+            ChunkStore.StoredObject stored;
+            if (full) {
+                stored = gitToStore(mirror, null, name, "bundle", "create", "-", "--all");
+            } else {
+                StringBuilder exclusions = new StringBuilder();
+                basis.forEach(sha -> exclusions.append('^').append(sha).append('\n'));
+                stored = gitToStore(mirror, exclusions.toString(), name, "bundle", "create", "-", "--all", "--stdin");
+            }
+            try {
+                storeRefs(entry + REFS_SUFFIX, refTips);
+            } catch (IOException | RuntimeException e) {
+                // Without its ref map a restore would apply the previous map after fetching this bundle
+                chunkStore.delete(name);
+                throw e;
+            }
+
+            BackupResult result = new BackupResult(name, stored.logicalSize(), stored.physicalSize(), stored.sha256(),
+                    full, false, refTips);
+            logger.info("Backed up repository {} to {} ({} bundle, {} bytes, {} stored, {} MB/s) in {} ms",
+                    repositoryId, name, full ? "full" : "incremental", result.size(), result.storedSize(),
+                    String.format("%.1f", stored.throughputMBps()), System.currentTimeMillis() - start);
+            return result;
+        } catch (IOException e) {
+            throw new GitBackupException("Backup of repository " + repositoryId + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Restore a repository by replaying its latest bundle chain into a new bare repository under
+     * {@code <store>/restores}, then setting its refs to the latest recorded ref map, which also removes refs
+     * deleted since the bundles were written.
+     *
+     * @return the restored bare repository
+     */
+    public Path restore(Long repositoryId) {
+        try {
+            List<String> entries = bundleChain(repositoryId);
+            List<String> chain = bundles(entries);
+            if (chain.isEmpty()) {
+                throw new GitBackupException("No backup bundles found for repository " + repositoryId);
+            }
+
+            Path target = storeDir().resolve("restores")
+                    .resolve(repositoryId + "-" + LocalDateTime.now().format(BUNDLE_NAME) + ".git");
+            Files.createDirectories(target.getParent());
+            git(null, null, "init", "--bare", "--quiet", target.toString());
+            for (String name : chain) {
+                Path bundle = Files.createTempFile(target.getParent(), "restore", ".bundle");
+                try {
+                    try (FileChannel out = FileChannel.open(bundle, StandardOpenOption.WRITE)) {
+                        chunkStore.read(name, out);
+                    }
+                    git(target, null, "fetch", "--quiet", bundle.toString(), "+refs/*:refs/*");
+                } finally {
+                    Files.deleteIfExists(bundle);
+                }
+            }
+            // Chains written before ref maps were recorded have none; their bundle refs are all there is
+            String refsEntry = entries.get(entries.size() - 1);
+            if (refsEntry.endsWith(REFS_SUFFIX)) {
+                applyRefs(target, readRefs(refsEntry));
+            }
+
+            logger.info("Restored repository {} from {} bundles to {}", repositoryId, chain.size(), target);
+            return target;
+        } catch (IOException e) {
+            throw new GitBackupException("Restore of repository " + repositoryId + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Entries of the current chain: the latest full bundle followed by the incrementals and ref maps written
+     * after it, in the order they were written.
+     */
+    List<String> bundleChain(Long repositoryId) throws IOException {
+        List<String> bundles = chunkStore.list(chainPrefix(repositoryId));
+        for (int i = bundles.size() - 1; i >= 0; i--) {
+            if (bundles.get(i).endsWith(FULL_SUFFIX)) {
+                return bundles.subList(i, bundles.size());
+            }
+        }
+        return List.of();
+    }
+
+    private static List<String> bundles(List<String> entries) {
+        return entries.stream()
+                .filter(name -> !name.endsWith(REFS_SUFFIX))
+                .collect(Collectors.toList());
+    }
+
+    private static String chainPrefix(Long repositoryId) {
+        return "git/" + repositoryId;
+    }
+
+    private Path storeDir() {
+        return Paths.get(config.getStoreDir()).toAbsolutePath();
+    }
+
+    private Path mirrorDir(Long repositoryId) {
+        return storeDir().resolve("mirrors").resolve(repositoryId + ".git");
+    }
+
+    private List<String> existingObjects(Path mirror, Set<String> shas) throws IOException {
+        String output = git(mirror, String.join("\n", shas) + "\n", "cat-file", "--batch-check=%(objectname) %(objecttype)");
+        return output.lines()
+                .filter(line -> !line.endsWith(" missing"))
+                .map(line -> line.substring(0, line.indexOf(' ')))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether the refs reach objects not reachable from {@code basis}. New commits show up in {@code rev-list};
+     * otherwise only a tip that is not a commit, such as a new annotated tag, adds an object.
+     */
+    private boolean hasNewObjects(Path mirror, List<String> basis, String refTips) throws IOException {
+        StringBuilder exclusions = new StringBuilder();
+        basis.forEach(sha -> exclusions.append('^').append(sha).append('\n'));
+        if (!git(mirror, exclusions.toString(), "rev-list", "--max-count=1", "--all", "--stdin").isBlank()) {
+            return true;
+        }
+        Set<String> tips = new TreeSet<>(parseTips(refTips));
+        tips.removeAll(basis);
+        if (tips.isEmpty()) {
+            return false;
+        }
+        String types = git(mirror, String.join("\n", tips) + "\n", "cat-file", "--batch-check=%(objecttype)");
+        return types.lines().anyMatch(type -> !type.equals("commit"));
+    }
+
+    private void storeRefs(String name, String refTips) throws IOException {
+        chunkStore.put(name, new ByteArrayInputStream(refTips.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String readRefs(String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunkStore.read(name, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // Points every recorded ref at its object and deletes the refs the map does not have
+    private void applyRefs(Path repository, String refTips) throws IOException {
+        Map<String, String> recorded = new TreeMap<>();
+        refTips.lines().filter(line -> !line.isBlank()).forEach(line -> {
+            int space = line.indexOf(' ');
+            recorded.put(line.substring(space + 1), line.substring(0, space));
+        });
+        StringBuilder commands = new StringBuilder();
+        recorded.forEach((ref, sha) -> commands.append("update ").append(ref).append(' ').append(sha).append('\n'));
+        git(repository, null, "for-each-ref", "--format=%(refname)").lines()
+                .filter(ref -> !ref.isBlank() && !recorded.containsKey(ref))
+                .forEach(ref -> commands.append("delete ").append(ref).append('\n'));
+        git(repository, commands.toString(), "update-ref", "--stdin");
+    }
+
+    // ls-remote output as sorted "sha ref" lines, without HEAD and peeled tag entries
+    private static String formatRefTips(String lsRemote) {
+        return lsRemote.lines()
+                .map(line -> line.split("\t"))
+                .filter(parts -> parts.length == 2 && !parts[1].equals("HEAD") && !parts[1].endsWith("^{}"))
+                .map(parts -> parts[0] + " " + parts[1])
+                .sorted()
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static Set<String> parseTips(String refTips) {
+        if (refTips == null || refTips.isBlank()) {
+            return Set.of();
+        }
+        return refTips.lines()
+                .map(line -> line.substring(0, line.indexOf(' ')))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // Runs git and streams its stdout into the chunk store under name
+    private ChunkStore.StoredObject gitToStore(Path workDir, String input, String name, String... args) throws IOException {
+        Path errors = Files.createTempFile("git-backup", ".log");
+        try {
+            ProcessBuilder builder = new ProcessBuilder(gitCommand(workDir, args))
+                    .redirectError(errors.toFile());
+            builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+
+            Process process = builder.start();
+            CompletableFuture.delayedExecutor(config.getCommandTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .execute(process::destroyForcibly);
+            try (OutputStream stdin = process.getOutputStream()) {
+                if (input != null) {
+                    stdin.write(input.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            ChunkStore.StoredObject stored;
+            try (InputStream stdout = process.getInputStream()) {
+                stored = chunkStore.put(name, stdout);
+            }
+            if (process.waitFor() != 0) {
+                chunkStore.delete(name);
+                throw new GitBackupException("git " + args[0] + " exited with " + process.exitValue() + ": "
+                        + Files.readString(errors).strip());
+            }
+            return stored;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunkStore.delete(name);
+            throw new GitBackupException("git " + args[0] + " was interrupted", e);
+        } finally {
+            Files.deleteIfExists(errors);
+        }
+    }
+
+    private List<String> gitCommand(Path workDir, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(config.getGitCommand());
+        if (workDir != null) {
+            command.add("-C");
+            command.add(workDir.toString());
+        }
+        command.addAll(List.of(args));
+        return command;
+    }
+
+    private String git(Path workDir, String input, String... args) throws IOException {
+        List<String> command = gitCommand(workDir, args);
+
+        // Output goes to a file so a chatty command cannot block on a full pipe
+        Path output = Files.createTempFile("git-backup", ".log");
+        try {
+            ProcessBuilder builder = new ProcessBuilder(command)
+                    .redirectOutput(output.toFile())
+                    .redirectError(ProcessBuilder.Redirect.appendTo(output.toFile()));
+            // Fail instead of waiting for credentials on the console
+            builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+
+            Process process = builder.start();
+            try (OutputStream stdin = process.getOutputStream()) {
+                if (input != null) {
+                    stdin.write(input.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            if (!process.waitFor(config.getCommandTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new GitBackupException("git " + args[0] + " timed out after " + config.getCommandTimeoutMs() + " ms");
+            }
+            if (process.exitValue() != 0) {
+                throw new GitBackupException("git " + args[0] + " exited with " + process.exitValue() + ": "
+                        + Files.readString(output).strip());
+            }
+            return Files.readString(output);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitBackupException("git " + args[0] + " was interrupted", e);
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -2,31 +2,72 @@
 package com.gitdashboard.service;
 
 import com.gitdashboard.dto.GitBackupDto;
+import com.gitdashboard.exception.BackupQueueFullException;
+import com.gitdashboard.model.DashboardBreakdown;
 import com.gitdashboard.model.GitBackup;
 import com.gitdashboard.model.GitRepository;
 import com.gitdashboard.repository.GitBackupRepository;
 import com.gitdashboard.repository.GitRepositoryRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Service
 public class GitBackupService {
+    private static final Logger logger = LoggerFactory.getLogger(GitBackupService.class);
+
     @Autowired
     private GitBackupRepository gitBackupRepository;
 
     @Autowired
     private GitRepositoryRepository gitRepositoryRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private GitBackupRunner gitBackupRunner;
+
+    private static final int RUN_ALL_PAGE_SIZE = 500;
+
+    // Repositories with a backup queued or running
+    private final Set<Long> runningBackups = ConcurrentHashMap.newKeySet();
+
+    // Queues the runs of runAllBackups, waiting for room in the backup pool off the request thread
+    private final ExecutorService sweep = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "git-backup-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public List<GitBackupDto> getAllBackups() {
         return gitBackupRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public Page<GitBackupDto> getBackupsPage(int page, int size) {
+        return gitBackupRepository.findAll(PageRequest.of(page, size, Sort.by("id")))
+                .map(this::convertToDto);
+    }
+
     public GitBackupDto getBackupById(Long id) {
         return gitBackupRepository.findById(id)
                 .map(this::convertToDto)
@@ -59,27 +100,171 @@ public class GitBackupService {
         return convertToDto(gitBackupRepository.save(backup));
     }
 
+    /**
+     * Queue a backup of one repository and return its backup record; the run completes in the background.
+     *
+     * @throws BackupQueueFullException when the backup pool and its queue are full
+     */
+    @Timed(value = "git.backup.run", histogram = true)
     public GitBackupDto runBackup(Long repositoryId) {
         GitRepository repository = gitRepositoryRepository.findById(repositoryId)
                 .orElseThrow(() -> new RuntimeException("Repository not found with id: " + repositoryId));
 
         GitBackup backup = gitBackupRepository.findByRepositoryId(repositoryId)
-                .orElse(new GitBackup());
+                .orElseGet(() -> newBackup(repository));
+        if (!queue(repository, backup.getRefTips())) {
+            throw new BackupQueueFullException("Backup queue is full, retry repository " + repositoryId + " later");
+        }
+        return convertToDto(backup);
+    }
+
+    /**
+     * Queue a backup of every repository and return the ids of their backup records. Repositories are read a
+     * page at a time; a background sweep hands their runs to the backup pool as it has room, so the request
+     * neither runs nor waits for a backup.
+     */
+    @Timed(value = "git.backup.run.all", histogram = true)
+    public List<Long> runAllBackups() {
+        List<Long> backupIds = new ArrayList<>();
+        Page<GitRepository> page;
+        int pageNumber = 0;
+        do {
+            page = gitRepositoryRepository.findAll(PageRequest.of(pageNumber++, RUN_ALL_PAGE_SIZE, Sort.by("id")));
+            List<Long> repositoryIds = page.getContent().stream().map(GitRepository::getId).toList();
+            Map<Long, GitBackup> backups = gitBackupRepository.findByRepositoryIdIn(repositoryIds).stream()
+                    .collect(Collectors.toMap(backup -> backup.getRepository().getId(), backup -> backup));
+            for (GitRepository repository : page.getContent()) {
+                GitBackup backup = backups.computeIfAbsent(repository.getId(), id -> newBackup(repository));
+                backupIds.add(backup.getId());
+            }
+            sweep.execute(() -> queueWhenFree(repositoryIds));
+        } while (page.hasNext());
+        return backupIds;
+    }
+
+    @PreDestroy
+    public void stopSweep() {
+        sweep.shutdownNow();
+    }
+
+    // Runs on the sweep thread: reads the page again, so only the runs queued in the pool hold their ref tips
+    private void queueWhenFree(List<Long> repositoryIds) {
+        for (GitBackup backup : gitBackupRepository.findByRepositoryIdIn(repositoryIds)) {
+            GitRepository repository = backup.getRepository();
+            if (!runningBackups.add(repository.getId())) {
+                continue;
+            }
+            try {
+                track(repository, gitBackupRunner.submitWhenFree(repository.getId(), sourceUrl(repository),
+                        backup.getRefTips()));
+            } catch (InterruptedException e) {
+                runningBackups.remove(repository.getId());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                runningBackups.remove(repository.getId());
+                throw e;
+            }
+        }
+    }
+
+    // Concurrent requests for the same repository share one run; false when the pool is full
+    private boolean queue(GitRepository repository, String previousRefTips) {
+        if (!runningBackups.add(repository.getId())) {
+            return true;
+        }
+        CompletableFuture<GitBackupRunner.BackupResult> run;
+        try {
+            run = gitBackupRunner.trySubmit(repository.getId(), sourceUrl(repository), previousRefTips);
+        } catch (RuntimeException e) {
+            runningBackups.remove(repository.getId());
+            throw e;
+        }
+        if (run == null) {
+            runningBackups.remove(repository.getId());
+            return false;
+        }
+        track(repository, run);
+        return true;
+    }
+
+    private void track(GitRepository repository, CompletableFuture<GitBackupRunner.BackupResult> run) {
+        run.handle((result, error) -> recordBackup(repository, result, error))
+                .whenComplete((dto, error) -> {
+                    runningBackups.remove(repository.getId());
+                    if (error != null) {
+                        logger.error("Could not record the backup of repository {}: {}", repository.getId(),
+                                error.getMessage());
+                    }
+                });
+    }
 
+    // A repository without a backup yet is pending until its first run succeeds
+    private GitBackup newBackup(GitRepository repository) {
+        GitBackup backup = new GitBackup();
         backup.setRepository(repository);
-        backup.setBackupStatus(GitBackup.BackupStatus.COMPLETE);
-        backup.setLastBackupTime(LocalDateTime.now());
+        backup.setBackupStatus(GitBackup.BackupStatus.PENDING);
+        return gitBackupRepository.save(backup);
+    }
+
+    private static String sourceUrl(GitRepository repository) {
+        return repository.getGitUrl() != null && !repository.getGitUrl().isBlank()
+                ? repository.getGitUrl()
+                : repository.getSshUrl();
+    }
+
+    /**
+     * Restore a repository from its backup bundle chain.
+     *
+     * @return path of the restored bare repository
+     */
+    @Timed(value = "git.backup.restore", histogram = true)
+    public String restoreBackup(Long repositoryId) {
+        if (!gitRepositoryRepository.existsById(repositoryId)) {
+            throw new RuntimeException("Repository not found with id: " + repositoryId);
+        }
+        return gitBackupRunner.restore(repositoryId).toString();
+    }
+
+    private GitBackupDto recordBackup(GitRepository repository, GitBackupRunner.BackupResult result, Throwable error) {
+        GitBackup backup = gitBackupRepository.findByRepositoryId(repository.getId())
+                .orElse(new GitBackup());
+        backup.setRepository(repository);
+
+        if (error == null) {
+            backup.setBackupStatus(GitBackup.BackupStatus.COMPLETE);
+            backup.setLastBackupTime(LocalDateTime.now());
+            backup.setRefTips(result.refTips());
+            backup.setLastError(null);
+            // Skipped runs keep pointing at the last bundle written
+            if (result.bundle() != null) {
+                backup.setBundlePath(result.bundle());
+                backup.setBundleSize(result.size());
+                backup.setStoredSize(result.storedSize());
+                backup.setChecksum(result.sha256());
+            }
+        } else {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            logger.warn("Backup of repository {} failed: {}", repository.getId(), cause.getMessage());
+            // The previous bundle stays valid, so a completed backup stays complete; the error is kept beside it
+            if (backup.getBackupStatus() == null) {
+                backup.setBackupStatus(GitBackup.BackupStatus.PENDING);
+            }
+            backup.setLastError(truncate(cause.getMessage()));
+        }
 
         return convertToDto(gitBackupRepository.save(backup));
     }
 
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
     public Map<String, Long> getBackupCountsByStatus() {
-        List<Object[]> results = gitBackupRepository.countByStatus();
-        Map<String, Long> counts = results.stream()
-                .collect(Collectors.toMap(
-                        obj -> ((GitBackup.BackupStatus) obj[0]).name(),
-                        obj -> (Long) obj[1]
-                ));
+        Map<String, Long> counts = dashboardCounters.getCounts(DashboardBreakdown.BACKUPS_BY_STATUS);
 
         // Ensure all statuses are represented
         for (GitBackup.BackupStatus status : GitBackup.BackupStatus.values()) {
@@ -90,7 +275,8 @@ public class GitBackupService {
     }
 
     public long getCompletedBackupsCount() {
-        return gitBackupRepository.countCompleteBackups();
+        return dashboardCounters.getCounts(DashboardBreakdown.BACKUPS_BY_STATUS)
+                .getOrDefault(GitBackup.BackupStatus.COMPLETE.name(), 0L);
     }
 
     private GitBackupDto convertToDto(GitBackup backup) {
@@ -105,6 +291,11 @@ public class GitBackupService {
 
         dto.setBackupStatus(backup.getBackupStatus());
         dto.setLastBackupTime(backup.getLastBackupTime());
+        dto.setBundlePath(backup.getBundlePath());
+        dto.setBundleSize(backup.getBundleSize());
+        dto.setStoredSize(backup.getStoredSize());
+        dto.setChecksum(backup.getChecksum());
+        dto.setLastError(backup.getLastError());
         return dto;
     }
 
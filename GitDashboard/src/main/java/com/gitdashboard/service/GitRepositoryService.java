@@ -2,11 +2,15 @@
 package com.gitdashboard.service;
 
 import com.gitdashboard.dto.GitRepositoryDto;
+import com.gitdashboard.model.DashboardBreakdown;
 import com.gitdashboard.model.GitRepository;
 import com.gitdashboard.model.GitUser;
 import com.gitdashboard.repository.GitRepositoryRepository;
 import com.gitdashboard.repository.GitUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
@@ -20,12 +24,20 @@ public class GitRepositoryService {
     @Autowired
     private GitUserRepository gitUserRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
     public List<GitRepositoryDto> getAllRepositories() {
         return gitRepositoryRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public Page<GitRepositoryDto> getRepositoriesPage(int page, int size) {
+        return gitRepositoryRepository.findAll(PageRequest.of(page, size, Sort.by("id")))
+                .map(this::convertToDto);
+    }
+
     public GitRepositoryDto getRepositoryById(Long id) {
         return gitRepositoryRepository.findById(id)
                 .map(this::convertToDto)
@@ -60,12 +72,7 @@ public class GitRepositoryService {
     }
 
     public Map<String, Long> getRepositoryCountsByDepartment() {
-        List<Object[]> results = gitRepositoryRepository.countByDepartment();
-        return results.stream()
-                .collect(Collectors.toMap(
-                        obj -> (String) obj[0],
-                        obj -> (Long) obj[1]
-                ));
+        return dashboardCounters.getCounts(DashboardBreakdown.REPOS_BY_DEPARTMENT);
     }
 
     private GitRepositoryDto convertToDto(GitRepository repository) {
@@ -2,6 +2,7 @@
 package com.gitdashboard.service;
 
 import com.gitdashboard.dto.GitUserDto;
+import com.gitdashboard.model.DashboardBreakdown;
 import com.gitdashboard.model.GitUser;
 import com.gitdashboard.repository.GitUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,9 @@ public class GitUserService {
     @Autowired
     private GitUserRepository gitUserRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
     public List<GitUserDto> getAllUsers() {
         return gitUserRepository.findAll().stream()
                 .map(this::convertToDto)
@@ -52,12 +56,7 @@ public class GitUserService {
     }
 
     public Map<String, Long> getUserCountsByRole() {
-        List<Object[]> results = gitUserRepository.countByRole();
-        Map<String, Long> counts = results.stream()
-                .collect(Collectors.toMap(
-                        obj -> ((GitUser.UserRole) obj[0]).name(),
-                        obj -> (Long) obj[1]
-                ));
+        Map<String, Long> counts = dashboardCounters.getCounts(DashboardBreakdown.USERS_BY_ROLE);
 
         // Ensure all roles are represented
         for (GitUser.UserRole role : GitUser.UserRole.values()) {
@@ -0,0 +1,146 @@
+package com.gitdashboard.repository;
+
+import com.gitdashboard.model.GitBackup;
+import com.gitdashboard.model.GitRepository;
+import com.gitdashboard.model.GitUser;
+import com.gitdashboard.service.DashboardCounters;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the list queries behind the dashboard endpoints issue the same number of statements for
+ * one row as for many, touching the same associations the DTO conversion does.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ListQueryStatementCountTest {
+
+    private static final int MANY = 25;
+
+    // Larger than MANY: Spring Data skips the count query for a partial page, so both sizes run the same queries
+    private static final PageRequest PAGE = PageRequest.of(0, MANY * 2);
+
+    // Needed by the entity listener; counting is not under test here
+    @MockitoBean
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GitRepositoryRepository gitRepositoryRepository;
+
+    @Autowired
+    private GitBackupRepository gitBackupRepository;
+
+    private Statistics statistics;
+
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repositoryListIsConstantInTheNumberOfRepositories() {
+        assertConstant(() -> touchRepositories(gitRepositoryRepository.findAll()));
+    }
+
+    @Test
+    void repositoryPageIsConstantInTheNumberOfRepositories() {
+        assertConstant(() -> touchRepositories(gitRepositoryRepository.findAll(PAGE).getContent()));
+    }
+
+    @Test
+    void backupListIsConstantInTheNumberOfBackups() {
+        assertConstant(() -> touchBackups(gitBackupRepository.findAll()));
+    }
+
+    @Test
+    void backupPageIsConstantInTheNumberOfBackups() {
+        assertConstant(() -> touchBackups(gitBackupRepository.findAll(PAGE).getContent()));
+    }
+
+    @Test
+    void backupsByStatusAreConstantInTheNumberOfBackups() {
+        assertConstant(() -> touchBackups(gitBackupRepository.findByBackupStatus(GitBackup.BackupStatus.COMPLETE)));
+    }
+
+    private void assertConstant(Supplier<Integer> list) {
+        seed(1);
+        long one = statements(list, 1);
+        seed(MANY - 1);
+        long many = statements(list, MANY);
+        assertThat(many).as("statements for %d rows", MANY).isEqualTo(one);
+    }
+
+    private long statements(Supplier<Integer> list, int expectedRows) {
+        entityManager.clear();
+        statistics.clear();
+        assertThat(list.get()).isEqualTo(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Each repository has its own creator, so a per-row load of either association would show up
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            GitUser user = new GitUser();
+            user.setEmployeeId("E" + n);
+            user.setUsername("user" + n);
+            user.setGroupName("group");
+            user.setRole(GitUser.UserRole.DEVELOPER);
+            entityManager.persist(user);
+
+            GitRepository repository = new GitRepository();
+            repository.setProjectName("project" + n);
+            repository.setDepartment("department" + n % 3);
+            repository.setCreatedDate(LocalDateTime.now());
+            repository.setCreatedBy(user);
+            repository.setMembers(List.of("E" + n, "M" + n));
+            entityManager.persist(repository);
+
+            GitBackup backup = new GitBackup();
+            backup.setRepository(repository);
+            backup.setBackupStatus(GitBackup.BackupStatus.COMPLETE);
+            backup.setLastBackupTime(LocalDateTime.now());
+            entityManager.persist(backup);
+        }
+        entityManager.flush();
+    }
+
+    private static int touchRepositories(List<GitRepository> repositories) {
+        for (GitRepository repository : repositories) {
+            assertThat(repository.getCreatedBy().getUsername()).isNotNull();
+            assertThat(repository.getMembers()).hasSize(2);
+        }
+        return repositories.size();
+    }
+
+    private static int touchBackups(List<GitBackup> backups) {
+        for (GitBackup backup : backups) {
+            assertThat(backup.getRepository().getCreatedBy().getUsername()).isNotNull();
+        }
+        return backups.size();
+    }
+}
@@ -0,0 +1,110 @@
+package com.gitdashboard.service;
+
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The store as apisvn and GitDashboard share it: two instances on one directory and one chunk index.
+ */
+class ChunkStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate index;
+    private ChunkStore chunkStore;
+    private ChunkStore otherInstance;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BackupStoreConfig config = new BackupStoreConfig();
+        config.setDir(dir.toString());
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        index = new JdbcTemplate(dataSource);
+        chunkStore = new ChunkStore(config, dataSource);
+        otherInstance = new ChunkStore(config, dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        chunkStore.destroy();
+        otherInstance.destroy();
+    }
+
+    @Test
+    void overwritingANameReleasesTheChunksOfTheReplacedObject() throws Exception {
+        chunkStore.put("test/object", stream("first"));
+        chunkStore.put("test/object", stream("second"));
+
+        assertThat(index.queryForObject("SELECT COUNT(*) FROM backup_chunks", Integer.class)).isEqualTo(1);
+        assertThat(read(chunkStore, "test/object")).isEqualTo("second");
+    }
+
+    @Test
+    void instancesShareChunksAndKeepThemUntilTheLastReferenceIsGone() throws Exception {
+        ChunkStore.StoredObject svn = chunkStore.put("svn/trunk/BKP-1", stream("same content"));
+        ChunkStore.StoredObject git = otherInstance.put("git/1/bundle", stream("same content"));
+
+        assertThat(svn.newSize()).isPositive();
+        assertThat(git.newSize()).isZero();
+        assertThat(index.queryForObject("SELECT ref_count FROM backup_chunks", Long.class)).isEqualTo(2);
+
+        chunkStore.delete("svn/trunk/BKP-1");
+        assertThat(read(otherInstance, "git/1/bundle")).isEqualTo("same content");
+
+        // Deleting twice, as two instances cleaning up the same backup would, releases only once
+        otherInstance.delete("git/1/bundle");
+        chunkStore.delete("git/1/bundle");
+        assertThat(index.queryForObject("SELECT COUNT(*) FROM backup_chunks", Integer.class)).isZero();
+        try (Stream<Path> files = Files.walk(dir.resolve("chunks"))) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void chunksThatGzipCannotShrinkAreStoredUncompressed() throws Exception {
+        // Below the minimum chunk size, so a single chunk
+        byte[] random = new byte[12 * 1024];
+        new Random(1).nextBytes(random);
+        chunkStore.put("git/1/bundle", new ByteArrayInputStream(random));
+        chunkStore.put("svn/trunk/BKP-1", stream("Node-path: trunk/README\n".repeat(1000)));
+
+        try (Stream<Path> files = Files.walk(dir.resolve("chunks"))) {
+            assertThat(files.filter(Files::isRegularFile).map(file -> file.getFileName().toString()))
+                    .hasSize(2)
+                    .satisfiesOnlyOnce(name -> assertThat(name).endsWith(".gz"));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunkStore.read("git/1/bundle", Channels.newChannel(out));
+        assertThat(out.toByteArray()).isEqualTo(random);
+    }
+
+    private static String read(ChunkStore store, String name) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.read(name, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
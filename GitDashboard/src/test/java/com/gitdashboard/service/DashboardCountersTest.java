@@ -0,0 +1,78 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.model.DashboardBreakdown;
+import com.gitdashboard.repository.GitRepositoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardCountersTest {
+
+    private GitRepositoryRepository gitRepositoryRepository;
+    private DashboardCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        gitRepositoryRepository = mock(GitRepositoryRepository.class);
+        counters = new DashboardCounters();
+        ReflectionTestUtils.setField(counters, "gitRepositoryRepository", gitRepositoryRepository);
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounts() {
+        counters.increment(DashboardBreakdown.REPOS_BY_DEPARTMENT, "stale");
+        when(gitRepositoryRepository.dashboardSummaryCounts()).thenReturn(rows(
+                new Object[]{"total", "repositories", 3L},
+                new Object[]{"department", "dev", 2L},
+                new Object[]{"department", null, 1L}));
+
+        counters.reconcile();
+
+        assertThat(counters.getCounts(DashboardBreakdown.REPOS_BY_DEPARTMENT)).isEqualTo(Map.of("dev", 2L));
+        assertThat(counters.getTotal(DashboardBreakdown.REPOS_BY_DEPARTMENT)).isEqualTo(3L);
+    }
+
+    @Test
+    void updatesCommittedDuringTheQueryAreKept() {
+        when(gitRepositoryRepository.dashboardSummaryCounts()).thenAnswer(invocation -> {
+            // Committed after the query read its snapshot
+            counters.increment(DashboardBreakdown.REPOS_BY_DEPARTMENT, "dev");
+            counters.move(DashboardBreakdown.REPOS_BY_DEPARTMENT, "dev", "ops");
+            counters.increment(DashboardBreakdown.REPOS_BY_DEPARTMENT, "ops");
+            return rows(new Object[]{"department", "dev", 2L});
+        });
+
+        counters.reconcile();
+
+        assertThat(counters.getCounts(DashboardBreakdown.REPOS_BY_DEPARTMENT))
+                .isEqualTo(Map.of("dev", 2L, "ops", 2L));
+        assertThat(counters.getTotal(DashboardBreakdown.REPOS_BY_DEPARTMENT)).isEqualTo(4L);
+
+        counters.decrement(DashboardBreakdown.REPOS_BY_DEPARTMENT, "ops");
+        assertThat(counters.getCounts(DashboardBreakdown.REPOS_BY_DEPARTMENT))
+                .isEqualTo(Map.of("dev", 2L, "ops", 1L));
+    }
+
+    @Test
+    void failedReconcileKeepsTheLiveCounts() {
+        counters.increment(DashboardBreakdown.USERS_BY_ROLE, "ADMIN");
+        when(gitRepositoryRepository.dashboardSummaryCounts()).thenThrow(new IllegalStateException("down"));
+
+        counters.reconcile();
+        counters.increment(DashboardBreakdown.USERS_BY_ROLE, "ADMIN");
+
+        assertThat(counters.getCounts(DashboardBreakdown.USERS_BY_ROLE)).isEqualTo(Map.of("ADMIN", 2L));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
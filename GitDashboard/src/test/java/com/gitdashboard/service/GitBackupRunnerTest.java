@@ -0,0 +1,143 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.config.GitBackupConfig;
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs backups against a local bare repository and checks that a restore reproduces its refs exactly,
+ * including refs that moved without adding objects.
+ */
+class GitBackupRunnerTest {
+
+    private static final long REPOSITORY_ID = 1L;
+
+    @TempDir
+    Path dir;
+
+    private Path source;
+    private Path work;
+    private ChunkStore chunkStore;
+    private GitBackupRunner runner;
+    private String refTips;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BackupStoreConfig storeConfig = new BackupStoreConfig();
+        storeConfig.setDir(dir.resolve("store").toString());
+        JdbcDataSource index = new JdbcDataSource();
+        index.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        chunkStore = new ChunkStore(storeConfig, index);
+
+        GitBackupConfig config = new GitBackupConfig();
+        config.setStoreDir(dir.resolve("backups").toString());
+        config.setPoolSize(1);
+        runner = new GitBackupRunner(config, chunkStore);
+
+        source = dir.resolve("source.git");
+        work = dir.resolve("work");
+        git(null, "init", "--bare", "--quiet", source.toString());
+        git(null, "init", "--quiet", "--initial-branch=main", work.toString());
+        git(work, "remote", "add", "origin", source.toString());
+        git(work, "config", "user.name", "Test");
+        git(work, "config", "user.email", "test@example.com");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        runner.destroy();
+        chunkStore.destroy();
+    }
+
+    @Test
+    void restoreReproducesRefsAfterEveryKindOfChange() throws Exception {
+        String first = commit("first");
+        git(work, "push", "--quiet", "origin", "main");
+        GitBackupRunner.BackupResult result = backup();
+        assertThat(result.full()).isTrue();
+        assertRestoredRefsMatchSource();
+
+        commit("second");
+        git(work, "push", "--quiet", "origin", "main");
+        result = backup();
+        assertThat(result.full()).isFalse();
+        assertThat(result.bundle()).endsWith("-incr");
+        assertRestoredRefsMatchSource();
+
+        // New refs at existing commits add no objects
+        git(work, "push", "--quiet", "origin", first + ":refs/heads/feature", "main:refs/tags/v1");
+        result = backup();
+        assertThat(result.skipped()).isFalse();
+        assertThat(result.bundle()).isNull();
+        assertRestoredRefsMatchSource();
+
+        // Rewind to an ancestor
+        git(work, "push", "--quiet", "--force", "origin", first + ":refs/heads/main");
+        result = backup();
+        assertThat(result.bundle()).isNull();
+        assertRestoredRefsMatchSource();
+
+        // A deleted ref and an annotated tag on an existing commit, which does add an object
+        git(work, "tag", "-a", "-m", "release", "v2", first);
+        git(work, "push", "--quiet", "origin", ":refs/heads/feature", "refs/tags/v2");
+        result = backup();
+        assertThat(result.bundle()).endsWith("-incr");
+        assertRestoredRefsMatchSource();
+
+        result = backup();
+        assertThat(result.skipped()).isTrue();
+    }
+
+    private GitBackupRunner.BackupResult backup() {
+        GitBackupRunner.BackupResult result = runner.backup(REPOSITORY_ID, source.toString(), refTips);
+        refTips = result.refTips();
+        return result;
+    }
+
+    private void assertRestoredRefsMatchSource() throws Exception {
+        Path restored = runner.restore(REPOSITORY_ID);
+        assertThat(refs(restored)).isEqualTo(refs(source)).isNotEmpty();
+    }
+
+    private List<String> refs(Path repository) throws Exception {
+        return git(repository, "for-each-ref", "--format=%(objectname) %(refname)").lines().toList();
+    }
+
+    private String commit(String message) throws Exception {
+        Files.writeString(work.resolve("file.txt"), message + "\n", StandardCharsets.UTF_8);
+        git(work, "add", "file.txt");
+        git(work, "commit", "--quiet", "-m", message);
+        return git(work, "rev-parse", "HEAD").strip();
+    }
+
+    private static String git(Path workDir, String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git"));
+        if (workDir != null) {
+            command.add("-C");
+            command.add(workDir.toString());
+        }
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + output);
+        }
+        return output;
+    }
+}
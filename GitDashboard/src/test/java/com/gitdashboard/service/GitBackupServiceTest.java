@@ -0,0 +1,89 @@
+package com.gitdashboard.service;
+
+import com.gitdashboard.exception.BackupQueueFullException;
+import com.gitdashboard.model.GitBackup;
+import com.gitdashboard.model.GitRepository;
+import com.gitdashboard.repository.GitBackupRepository;
+import com.gitdashboard.repository.GitRepositoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GitBackupServiceTest {
+
+    private GitBackupRepository gitBackupRepository;
+    private GitBackupRunner gitBackupRunner;
+    private GitBackupService service;
+    private GitRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        gitBackupRepository = mock(GitBackupRepository.class);
+        GitRepositoryRepository gitRepositoryRepository = mock(GitRepositoryRepository.class);
+        gitBackupRunner = mock(GitBackupRunner.class);
+        service = new GitBackupService();
+        ReflectionTestUtils.setField(service, "gitBackupRepository", gitBackupRepository);
+        ReflectionTestUtils.setField(service, "gitRepositoryRepository", gitRepositoryRepository);
+        ReflectionTestUtils.setField(service, "gitBackupRunner", gitBackupRunner);
+
+        repository = new GitRepository();
+        repository.setId(7L);
+        repository.setGitUrl("/repos/project.git");
+        when(gitRepositoryRepository.findById(7L)).thenReturn(Optional.of(repository));
+        when(gitBackupRepository.save(any(GitBackup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stopSweep();
+    }
+
+    @Test
+    void runIsRefusedWhenTheBackupQueueIsFull() {
+        when(gitBackupRepository.findByRepositoryId(7L)).thenReturn(Optional.of(backup(GitBackup.BackupStatus.COMPLETE)));
+        when(gitBackupRunner.trySubmit(anyLong(), anyString(), any())).thenReturn(null);
+
+        assertThatThrownBy(() -> service.runBackup(7L)).isInstanceOf(BackupQueueFullException.class);
+
+        // The repository is not left marked as running
+        when(gitBackupRunner.trySubmit(anyLong(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        service.runBackup(7L);
+    }
+
+    @Test
+    void failedRunKeepsACompletedBackupComplete() {
+        GitBackup backup = backup(GitBackup.BackupStatus.COMPLETE);
+        when(gitBackupRepository.findByRepositoryId(7L)).thenReturn(Optional.of(backup));
+        when(gitBackupRunner.trySubmit(anyLong(), anyString(), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("remote unreachable")));
+
+        service.runBackup(7L);
+
+        verify(gitBackupRepository, timeout(1000)).save(backup);
+        assertThat(backup.getBackupStatus()).isEqualTo(GitBackup.BackupStatus.COMPLETE);
+        assertThat(backup.getLastError()).isEqualTo("remote unreachable");
+    }
+
+    private GitBackup backup(GitBackup.BackupStatus status) {
+        GitBackup backup = new GitBackup();
+        backup.setId(3L);
+        backup.setRepository(repository);
+        backup.setBackupStatus(status);
+        return backup;
+    }
+}
@@ -1594,12 +1594,9 @@ const BackupModal = ({ onClose, onSave, title, repositories = [], isSubmitting =
                 disabled={isSubmitting}
               >
                 <option value="Full">Full Backup</option>
-                <option value="Delta">Delta Backup</option>
               </select>
               <p className="text-xs text-gray-500 mt-1">
-                {formData.type === 'Full' 
-                  ? 'Full backup includes all repositories and their complete history.' 
-                  : 'Delta backup only includes changes since the last backup.'}
+                Full backup includes all repositories and their complete history. Data unchanged since earlier backups is stored only once.
               </p>
             </div>
             
@@ -1692,7 +1689,8 @@ const ScheduleModal = ({ schedule = null, onClose, onSave, title, repositories =
   const [formData, setFormData] = useState({
     id: schedule?.id || '',
     name: schedule?.name || '',
-    type: schedule?.type || 'Full',
+    // Delta schedules are no longer supported; saving one makes it a Full schedule
+    type: 'Full',
     frequency: schedule?.frequency || 'Daily',
     time: schedule?.time || '11:30 PM',
     repos: schedule?.repos || 'All repositories',
@@ -1792,7 +1790,6 @@ const ScheduleModal = ({ schedule = null, onClose, onSave, title, repositories =
                 disabled={isSubmitting}
               >
                 <option value="Full">Full Backup</option>
-                <option value="Delta">Delta Backup</option>
               </select>
             </div>
             
@@ -1,11 +1,20 @@
 package com.microservices.apigateway;
 
+import com.microservices.apigateway.config.NativeHints;
+import com.microservices.common.config.ConfigChangeSubscriber;
+import com.microservices.common.config.RegistrationWarmup;
+import com.microservices.common.config.SelectiveConfigurationPropertiesRebinder;
+import com.microservices.common.security.JwksKeyResolver;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@ImportRuntimeHints(NativeHints.class)
+@Import({RegistrationWarmup.class, ConfigChangeSubscriber.class, SelectiveConfigurationPropertiesRebinder.class, JwksKeyResolver.class})
 public class ApiGatewayApplication {
 
     public static void main(String[] args) {
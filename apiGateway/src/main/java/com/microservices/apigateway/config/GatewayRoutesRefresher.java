@@ -0,0 +1,30 @@
+package com.microservices.apigateway.config;
+
+import com.microservices.common.config.ConfigurationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies pushed route changes without a restart. Once the gateway properties have been rebound, the
+ * cached routes are rebuilt from them and swapped in; requests in flight finish on the route they matched.
+ */
+@Component
+public class GatewayRoutesRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(GatewayRoutesRefresher.class);
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.affects("spring.cloud.gateway")) {
+            logger.info("Gateway configuration changed, rebuilding the routes");
+            eventPublisher.publishEvent(new RefreshRoutesEvent(this));
+        }
+    }
+}
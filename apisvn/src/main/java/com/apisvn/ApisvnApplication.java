@@ -1,9 +1,15 @@
 package com.apisvn;
 
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import com.microservices.common.config.RegistrationWarmup;
+import com.microservices.common.security.JwksKeyResolver;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import({RegistrationWarmup.class, ChunkStore.class, BackupStoreConfig.class, JwksKeyResolver.class})
 public class ApisvnApplication {
 
     public static void main(String[] args) {
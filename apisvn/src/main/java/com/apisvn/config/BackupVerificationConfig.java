@@ -0,0 +1,24 @@
+package com.apisvn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "backup.verify")
+public class BackupVerificationConfig {
+    // Verify every backup once it completes
+    private boolean enabled = true;
+
+    // Backups verified at the same time; further backups wait in the queue
+    private int poolSize = 2;
+    private int queueCapacity = 100;
+
+    // Read budget shared by all verifications, so they do not starve running backups
+    private long maxBytesPerSecond = 50L * 1024 * 1024;
+
+    // Load each dump into a scratch repository and run svnadmin verify on it
+    private boolean restoreTest = true;
+    private String scratchDir = System.getProperty("java.io.tmpdir") + "/svn-verify";
+}
@@ -0,0 +1,34 @@
+package com.apisvn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "datagen")
+public class DataGeneratorConfig {
+    // Generate synthetic data on startup; rows are appended after the existing ones
+    private boolean enabled = false;
+
+    // Stop the application once the data is written, so it can be run as a one-off job
+    private boolean exitWhenDone = true;
+
+    private long users = 10_000;
+    private long repositories = 100_000;
+    private int membersPerRepository = 3;
+    private long backups = 1_000_000;
+    private int repositoriesPerBackup = 2;
+    private long migrations = 50_000;
+    private long schedules = 200;
+    private int repositoriesPerSchedule = 5;
+
+    // Rows per multi-row INSERT statement
+    private int rowsPerStatement = 1000;
+
+    // Connections writing in parallel; each writes its own id range
+    private int threads = 4;
+
+    // Same seed, same data
+    private long seed = 42;
+}
@@ -1,6 +1,7 @@
 package com.apisvn.config;
 
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,9 +32,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && SvnJwtUtils.validateJwtToken(jwt)) {
-                String username = SvnJwtUtils.getUserNameFromJwtToken(jwt);
-                Collection<GrantedAuthority> authorities = SvnJwtUtils.getAuthoritiesFromJwtToken(jwt);
+            Claims claims = jwt != null ? SvnJwtUtils.getValidatedClaims(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
+                Collection<GrantedAuthority> authorities = SvnJwtUtils.getAuthoritiesFromClaims(claims);
 
                 // Create authentication token with extracted authorities from JWT
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
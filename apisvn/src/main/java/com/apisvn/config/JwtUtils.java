@@ -2,17 +2,17 @@ package com.apisvn.config;
 
 
 
+import com.microservices.common.security.JwksKeyResolver;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -22,8 +22,16 @@ import java.util.stream.Collectors;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtParser jwtParser;
+
+    private final MeterRegistry meterRegistry;
+
+    public JwtUtils(JwksKeyResolver keyResolver, MeterRegistry meterRegistry) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
      * Gets username from JWT token.
@@ -32,9 +40,7 @@ public class JwtUtils {
      * @return the username
      */
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
@@ -47,14 +53,18 @@ public class JwtUtils {
      * @param token the JWT token
      * @return collection of granted authorities
      */
-    @SuppressWarnings("unchecked")
     public Collection<GrantedAuthority> getAuthoritiesFromJwtToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getAuthoritiesFromClaims(jwtParser.parseClaimsJws(token).getBody());
+    }
 
+    /**
+     * Extract authorities/roles from already verified token claims.
+     *
+     * @param claims the verified token claims
+     * @return collection of granted authorities
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<GrantedAuthority> getAuthoritiesFromClaims(Claims claims) {
         List<String> roles = new ArrayList<>();
 
         // Extract roles from 'roles' claim - as stored by AuthService
@@ -67,10 +77,6 @@ public class JwtUtils {
                 .collect(Collectors.toList());
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     /**
      * Validates JWT token.
      *
@@ -78,18 +84,40 @@ public class JwtUtils {
      * @return true if valid, false otherwise
      */
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+
+    /**
+     * Validates JWT token and returns its claims, so callers verify the signature only once.
+     *
+     * @param authToken the token to validate
+     * @return the token claims, or null if the token is invalid
+     */
+    public Claims getValidatedClaims(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            outcome = "valid";
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            outcome = "expired";
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("jwt.verification")
+                    .description("Time spent verifying JWT signatures and claims")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
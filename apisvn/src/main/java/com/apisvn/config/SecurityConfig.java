@@ -11,12 +11,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    private static final WebExpressionAuthorizationManager LOCAL_SCRAPE =
+            new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')");
 
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
@@ -34,6 +37,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers("/", "/error", "/favicon.ico").permitAll()
+                        // Metrics and health are scraped from the same host only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").access(LOCAL_SCRAPE)
                         .requestMatchers("/api/svn/home").permitAll()
                         .requestMatchers("/api/svn/**").authenticated()
                         // Admin-only endpoints
@@ -0,0 +1,22 @@
+package com.apisvn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "svn.backup")
+public class SvnBackupConfig {
+    // Parent directory of the SVN repositories; each repository is a subdirectory named after it
+    private String repositoriesRoot = "svn-repositories";
+
+    private String svnadminCommand = "svnadmin";
+
+    // Backups dumped at the same time; further backups wait in the queue, and are failed once it is full
+    private int poolSize = 2;
+    private int queueCapacity = 100;
+
+    // Upper bound for dumping a single repository
+    private long commandTimeoutMs = 2 * 60 * 60 * 1000L;
+}
@@ -60,6 +60,16 @@ public class BackupController {
         return ResponseEntity.ok(backup);
     }
 
+    @PostMapping("/{id}/verify")
+    public ResponseEntity<Backup> verifyBackup(@PathVariable Long id) {
+        return ResponseEntity.ok(backupService.verifyBackup(id));
+    }
+
+    @GetMapping("/{id}/metrics")
+    public ResponseEntity<Map<String, Object>> getBackupMetrics(@PathVariable Long id) {
+        return ResponseEntity.ok(backupService.getBackupMetrics(id));
+    }
+
     @GetMapping("/backup-id/{backupId}")
     public ResponseEntity<Backup> getBackupByBackupId(@PathVariable String backupId) {
         Optional<Backup> backup = backupService.getBackupByBackupId(backupId);
@@ -5,6 +5,7 @@ import com.apisvn.model.BackupSchedule;
 import com.apisvn.service.BackupScheduleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+// Schedules are edited rarely: created on the first request rather than on startup
+@Lazy
 @RestController
 @RequestMapping("/api/svn/backup-schedules")
 public class BackupScheduleController {
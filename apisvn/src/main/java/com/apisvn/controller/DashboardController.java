@@ -61,6 +61,9 @@ public class DashboardController {
         long successfulBackups = backups.stream().filter(b -> "Complete".equals(b.getStatus())).count();
         long totalBackups = backups.size();
         metrics.put("backupSuccessRate", totalBackups > 0 ? (double) successfulBackups / totalBackups * 100 : 0);
+        // Share of completed backups whose stored copy was read back and checked successfully
+        long verifiedBackups = backups.stream().filter(b -> "Verified".equals(b.getVerificationStatus())).count();
+        metrics.put("backupVerifiedRate", successfulBackups > 0 ? (double) verifiedBackups / successfulBackups * 100 : 0);
 
         Optional<Backup> lastFullBackup = backupService.getLastFullBackup();
         metrics.put("lastFullBackup", lastFullBackup.map(b -> b.getDate().format(DateTimeFormatter.ISO_DATE_TIME)).orElse("None"));
@@ -116,12 +119,18 @@ public class DashboardController {
         long completed = backups.stream().filter(b -> "Complete".equals(b.getStatus())).count();
         long inProgress = backups.stream().filter(b -> "In Progress".equals(b.getStatus())).count();
         long failed = backups.stream().filter(b -> "Failed".equals(b.getStatus())).count();
+        long verified = backups.stream().filter(b -> "Verified".equals(b.getVerificationStatus())).count();
+        long verificationFailed = backups.stream().filter(b -> "Failed".equals(b.getVerificationStatus())).count();
 
         // Calculate total storage
         double totalStorage = backups.stream()
                 .filter(b -> "Complete".equals(b.getStatus()))
                 .filter(b -> b.getSize() != null && !b.getSize().isEmpty())
                 .mapToDouble(b -> {
+                    // Backups in the chunk store report the bytes they actually added to it
+                    if (b.getPhysicalSize() != null) {
+                        return b.getPhysicalSize() / (1024.0 * 1024 * 1024);
+                    }
                     try {
                         String sizeStr = b.getSize().replaceAll("[^\\d.]", "");
                         return Double.parseDouble(sizeStr);
@@ -139,6 +148,10 @@ public class DashboardController {
         summary.put("completedBackups", completed);
         summary.put("inProgressBackups", inProgress);
         summary.put("failedBackups", failed);
+        summary.put("verifiedBackups", verified);
+        summary.put("verificationFailedBackups", verificationFailed);
+        summary.put("verificationSuccessRate", verified + verificationFailed > 0
+                ? (double) verified / (verified + verificationFailed) * 100 : 0);
         summary.put("totalStorageGB", Math.round(totalStorage * 10) / 10.0);
         summary.put("nextScheduledBackup", nextSchedule.map(BackupSchedule::getTime).orElse("None"));
 
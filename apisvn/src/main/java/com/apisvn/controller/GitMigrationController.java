@@ -5,6 +5,7 @@ import com.apisvn.model.GitMigration;
 import com.apisvn.service.GitMigrationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// Migrations are started a few times a month: created on the first request rather than on startup
+@Lazy
 @RestController
 @RequestMapping("/api/svn/migrations")
 public class GitMigrationController {
@@ -5,6 +5,7 @@ import com.apisvn.model.User;
 import com.apisvn.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// User administration is rarely used: created on the first request rather than on startup
+@Lazy
 @RestController
 @RequestMapping("/api/svn/users")
 public class UserController {
@@ -21,6 +21,11 @@ public class BackupDTO {
 
     private String status;
     private String size;
+    private Long logicalSize;
+    private Long physicalSize;
+    private String verificationStatus;
+    private String verifiedAt;
+    private String verificationLog;
     private String duration;
     private String date;
 
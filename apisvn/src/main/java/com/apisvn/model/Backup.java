@@ -26,7 +26,7 @@ public class Backup {
     private LocalDateTime date;
 
     @Column(nullable = false)
-    private String type; // Full, Delta
+    private String type; // Full; Delta only on records from before every dump was full
 
     @Column(nullable = false)
     private String status; // Complete, In Progress, Failed
@@ -34,6 +34,30 @@ public class Backup {
     @Column(nullable = false)
     private String size;
 
+    // Bytes dumped, and bytes this backup added to the store after dedup and compression
+    @Column(name = "logical_size")
+    private Long logicalSize;
+
+    @Column(name = "physical_size")
+    private Long physicalSize;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    // Result of re-reading the stored backup: Pending, Verified or Failed
+    @Column(name = "verification_status")
+    private String verificationStatus;
+
+    @Column(name = "verified_at")
+    private LocalDateTime verifiedAt;
+
+    @Column(name = "verification_log", columnDefinition = "TEXT")
+    private String verificationLog;
+
+    // Chunk store manifests written by this backup, one per line
+    @Column(columnDefinition = "TEXT")
+    private String manifests;
+
     @Column(nullable = false)
     private String duration;
 
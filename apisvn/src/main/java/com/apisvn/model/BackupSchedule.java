@@ -28,7 +28,7 @@ public class BackupSchedule {
     private String name;
 
     @Column(nullable = false)
-    private String type; // Full, Delta
+    private String type; // Full; Delta only on records from before every dump was full
 
     @Column(nullable = false)
     private String frequency; // Daily, Weekly, Monthly
@@ -65,6 +65,11 @@ public class BackupScheduleService {
 
     @Transactional
     public BackupSchedule createSchedule(BackupSchedule schedule, List<Long> repositoryIds) {
+        if (schedule.getType() == null) {
+            schedule.setType("Full");
+        }
+        BackupService.requireFull(schedule.getType());
+
         // Set creation time
         schedule.setCreatedAt(LocalDateTime.now());
 
@@ -88,6 +93,7 @@ public class BackupScheduleService {
     @Transactional
     public BackupSchedule updateSchedule(Long id, BackupSchedule scheduleDetails, List<Long> repositoryIds) {
         BackupSchedule schedule = getScheduleById(id);
+        BackupService.requireFull(scheduleDetails.getType());
 
         // Update schedule details
         schedule.setName(scheduleDetails.getName());
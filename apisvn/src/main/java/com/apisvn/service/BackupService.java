@@ -3,33 +3,84 @@ package com.apisvn.service;
 
 
 
+import com.apisvn.config.BackupVerificationConfig;
+import com.apisvn.config.SvnBackupConfig;
 import com.apisvn.model.Backup;
 import com.apisvn.model.Repository;
 import com.apisvn.repository.BackupRepository;
 import com.apisvn.repository.RepositoryRepository;
+import com.microservices.common.backup.ChunkStore;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * Creates and runs SVN backups. Creating a backup only records it as In Progress; the dumps run on a bounded
+ * pool once that has committed, outside any transaction, and the outcome is recorded in a transaction of its own.
+ */
 @Service
-public class BackupService {
+public class BackupService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupService.class);
 
     private final BackupRepository backupRepository;
     private final RepositoryRepository repositoryRepository;
+    private final SvnBackupRunner svnBackupRunner;
+    private final ChunkStore chunkStore;
+    private final BackupVerifier backupVerifier;
+    private final BackupVerificationConfig verificationConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
 
     @Autowired
-    public BackupService(BackupRepository backupRepository, RepositoryRepository repositoryRepository) {
+    public BackupService(BackupRepository backupRepository, RepositoryRepository repositoryRepository,
+                         SvnBackupRunner svnBackupRunner, ChunkStore chunkStore, BackupVerifier backupVerifier,
+                         BackupVerificationConfig verificationConfig, SvnBackupConfig svnBackupConfig,
+                         PlatformTransactionManager transactionManager) {
         this.backupRepository = backupRepository;
         this.repositoryRepository = repositoryRepository;
+        this.svnBackupRunner = svnBackupRunner;
+        this.chunkStore = chunkStore;
+        this.backupVerifier = backupVerifier;
+        this.verificationConfig = verificationConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                svnBackupConfig.getPoolSize(), svnBackupConfig.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(svnBackupConfig.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "svn-backup-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     public List<Backup> getAllBackups() {
@@ -67,7 +118,13 @@ public class BackupService {
     }
 
     @Transactional
+    @Timed(value = "svn.backup.create", histogram = true)
     public Backup createBackup(Backup backup, List<Long> repositoryIds) {
+        if (backup.getType() == null) {
+            backup.setType("Full");
+        }
+        requireFull(backup.getType());
+
         // Set creation time
         LocalDateTime now = LocalDateTime.now();
         backup.setCreatedAt(now);
@@ -106,22 +163,22 @@ public class BackupService {
         // Save the backup
         Backup savedBackup = backupRepository.save(backup);
 
-        // Simulate backup completion in a real application (in this case just update status)
-        // In a real application, this would be handled by a separate thread or job scheduler
-        completeBackupAsync(savedBackup.getId());
+        // The dumps start once the backup has committed, so this request and its connection are not held for them
+        submitAfterCommit(savedBackup.getId());
 
         return savedBackup;
     }
 
     @Transactional
     public void deleteBackup(Long id) {
-        if (!backupRepository.existsById(id)) {
-            throw new EntityNotFoundException("Backup not found with id: " + id);
-        }
-        backupRepository.deleteById(id);
+        Backup backup = getBackupById(id);
+        // Release the backup's chunks; chunks shared with other backups stay in the store
+        releaseManifests(backup.getManifests());
+        backupRepository.delete(backup);
     }
 
     @Transactional
+    @Timed(value = "svn.backup.retry", histogram = true)
     public Backup retryBackup(Long id) {
         Backup backup = getBackupById(id);
 
@@ -129,7 +186,8 @@ public class BackupService {
             throw new IllegalStateException("Only failed backups can be retried");
         }
 
-        // Update backup for retry
+        // Update backup for retry; a Delta backup from before Full-only dumps is retried as a Full one
+        backup.setType("Full");
         backup.setStatus("In Progress");
         backup.setDate(LocalDateTime.now());
         backup.setLogs("Retry initiated...");
@@ -142,65 +200,198 @@ public class BackupService {
 
         Backup savedBackup = backupRepository.save(backup);
 
-        // Simulate backup completion in a real application
-        completeBackupAsync(savedBackup.getId());
+        submitAfterCommit(savedBackup.getId());
 
         return savedBackup;
     }
 
-    // Simulates asynchronous backup completion
-    // In a real application, this would be a separate job or task
-    private void completeBackupAsync(Long backupId) {
-        // In a real implementation, this would be run in a separate thread or scheduler
-        // For this demo, we'll just do it directly for simplicity
+    /**
+     * Throughput and size reduction of a completed backup.
+     */
+    public Map<String, Object> getBackupMetrics(Long id) {
+        Backup backup = getBackupById(id);
+        long logicalSize = backup.getLogicalSize() != null ? backup.getLogicalSize() : 0;
+        long physicalSize = backup.getPhysicalSize() != null ? backup.getPhysicalSize() : 0;
+        long durationMs = backup.getDurationMs() != null ? backup.getDurationMs() : 0;
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("backupId", backup.getBackupId());
+        metrics.put("status", backup.getStatus());
+        metrics.put("logicalSize", logicalSize);
+        metrics.put("physicalSize", physicalSize);
+        metrics.put("durationMs", durationMs);
+        metrics.put("reductionRatio", physicalSize > 0 ? (double) logicalSize / physicalSize : 0);
+        metrics.put("throughputMBps", durationMs > 0 ? logicalSize / 1024.0 / 1024.0 / (durationMs / 1000.0) : 0);
+        return metrics;
+    }
 
+    // Every dump is a complete svnadmin dump; the chunk store already keeps only the chunks that changed
+    // since earlier dumps, so a Delta type would not be smaller and could not be loaded on its own
+    static void requireFull(String type) {
+        if (!"Full".equals(type)) {
+            throw new IllegalArgumentException("Unsupported backup type " + type
+                    + ": only Full backups are supported, unchanged data is deduplicated by the backup store");
+        }
+    }
+
+    private void submitAfterCommit(Long backupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(backupId);
+                }
+            });
+        } else {
+            submit(backupId);
+        }
+    }
+
+    private void submit(Long backupId) {
+        try {
+            executor.execute(() -> completeBackup(backupId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Backup queue full, backup {} not started", backupId);
+            recordResult(backupId, List.of(), "", "Backup queue full, retry later", 0);
+        }
+    }
+
+    // Runs on the backup pool. Dumps every repository of the backup into the chunk store without holding a
+    // transaction, then records the outcome in one
+    void completeBackup(Long backupId) {
+        long start = System.currentTimeMillis();
+        Backup backup = transactionTemplate.execute(status -> {
+            Backup current = backupRepository.findById(backupId).orElse(null);
+            if (current != null) {
+                // Loaded here, while the session is open
+                current.getRepositories().size();
+            }
+            return current;
+        });
+        if (backup == null) {
+            return;
+        }
+
+        List<ChunkStore.StoredObject> dumps = new ArrayList<>();
+        StringBuilder logs = new StringBuilder();
+        String failure = null;
         try {
-            // Simulate processing delay
-            Thread.sleep(5000); // 5 seconds delay
+            for (Repository repository : backup.getRepositories()) {
+                ChunkStore.StoredObject stored = svnBackupRunner.dump(backup.getBackupId(), repository.getName());
+                dumps.add(stored);
+                logs.append(String.format("%s: %s in %d chunks, %s new, %s stored (%.1fx), %.1f MB/s%n",
+                        repository.getName(), formatSize(stored.logicalSize()), stored.chunkCount(),
+                        formatSize(stored.newSize()), formatSize(stored.physicalSize()),
+                        stored.reductionRatio(), stored.throughputMBps()));
+            }
+        } catch (Exception e) {
+            logger.warn("Backup {} failed: {}", backup.getBackupId(), e.getMessage());
+            // Drop what was stored so far; a retry starts from scratch
+            releaseManifests(dumps.stream().map(ChunkStore.StoredObject::manifest).collect(Collectors.joining("\n")));
+            dumps.clear();
+            failure = e.getMessage();
+        }
 
-            // Complete the backup
-            Backup backup = getBackupById(backupId);
-            backup.setStatus("Complete");
+        recordResult(backupId, dumps, logs.toString(), failure, System.currentTimeMillis() - start);
+    }
 
-            // Set appropriate duration based on type
-            if ("Full".equals(backup.getType())) {
-                backup.setDuration("1h 05m");
-                backup.setSize("15.8 GB");
+    private void recordResult(Long backupId, List<ChunkStore.StoredObject> dumps, String logs, String failure,
+                              long durationMs) {
+        String manifests = dumps.stream().map(ChunkStore.StoredObject::manifest).collect(Collectors.joining("\n"));
+        Backup backup = transactionTemplate.execute(status -> {
+            Backup current = backupRepository.findById(backupId).orElse(null);
+            if (current == null) {
+                return null;
+            }
+            if (failure == null) {
+                long logicalSize = dumps.stream().mapToLong(ChunkStore.StoredObject::logicalSize).sum();
+                long physicalSize = dumps.stream().mapToLong(ChunkStore.StoredObject::physicalSize).sum();
+                current.setStatus("Complete");
+                current.setLogs("Backup completed successfully with no errors.\n" + logs);
+                current.setManifests(manifests);
+                current.setLogicalSize(logicalSize);
+                current.setPhysicalSize(physicalSize);
+                current.setSize(formatSize(logicalSize) + " (" + formatSize(physicalSize) + " stored)");
+                current.setVerificationStatus("Pending");
             } else {
-                backup.setDuration("15m");
-                backup.setSize("1.2 GB");
+                current.setStatus("Failed");
+                current.setLogs(logs + "Backup failed: " + failure);
+                if (current.getSize() == null) {
+                    current.setSize("0 B");
+                }
             }
 
-            backup.setLogs("Backup completed successfully with no errors.");
+            current.setDurationMs(durationMs);
+            current.setDuration(formatDuration(durationMs));
 
             // Update backup status for all related repositories
-            for (Repository repository : backup.getRepositories()) {
-                repository.setBackupStatus("Complete");
+            for (Repository repository : current.getRepositories()) {
+                repository.setBackupStatus(current.getStatus());
                 repositoryRepository.save(repository);
             }
 
-            backupRepository.save(backup);
+            Backup saved = backupRepository.save(current);
+            if ("Complete".equals(saved.getStatus()) && verificationConfig.isEnabled()) {
+                backupVerifier.submit(saved.getId());
+            }
+            return saved;
+        });
+        if (backup == null) {
+            // Deleted while it ran
+            releaseManifests(manifests);
+        }
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            // Handle errors - in a real application, we'd log this and possibly retry
-            try {
-                Backup backup = getBackupById(backupId);
-                backup.setStatus("Failed");
-                backup.setLogs("Backup failed: " + e.getMessage());
-
-                // Update backup status for all related repositories
-                for (Repository repository : backup.getRepositories()) {
-                    repository.setBackupStatus("Failed");
-                    repositoryRepository.save(repository);
-                }
+    /**
+     * Queue a completed backup for verification.
+     */
+    public Backup verifyBackup(Long id) {
+        Backup backup = getBackupById(id);
+        if (!"Complete".equals(backup.getStatus())) {
+            throw new IllegalStateException("Only complete backups can be verified");
+        }
+        backup.setVerificationStatus("Pending");
+        Backup savedBackup = backupRepository.save(backup);
+        backupVerifier.submit(savedBackup.getId());
+        return savedBackup;
+    }
 
-                backupRepository.save(backup);
-            } catch (Exception ex) {
-                // Log error
-                System.err.println("Error updating failed backup: " + ex.getMessage());
+    private void releaseManifests(String manifests) {
+        if (manifests == null || manifests.isBlank()) {
+            return;
+        }
+        for (String manifest : manifests.split("\n")) {
+            try {
+                chunkStore.delete(manifest);
+            } catch (IOException e) {
+                logger.warn("Could not release backup manifest {}: {}", manifest, e.getMessage());
             }
         }
     }
-}
\ No newline at end of file
+
+    static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
+    }
+
+    static String formatDuration(long millis) {
+        long minutes = millis / 60_000;
+        return minutes >= 60
+                ? String.format("%dh %02dm", minutes / 60, minutes % 60)
+                : minutes + "m";
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
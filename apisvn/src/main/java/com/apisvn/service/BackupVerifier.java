@@ -0,0 +1,285 @@
+package com.apisvn.service;
+
+import com.apisvn.config.BackupVerificationConfig;
+import com.apisvn.config.SvnBackupConfig;
+import com.apisvn.model.Backup;
+import com.apisvn.repository.BackupRepository;
+import com.microservices.common.backup.ChunkStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Verifies completed backups by streaming every stored dump back out of the {@link ChunkStore}, recomputing its
+ * checksum and, optionally, loading it into a scratch repository checked with {@code svnadmin verify}.
+ * <p>
+ * Verifications run on their own small pool and share a read budget, so they do not compete with live backups
+ * for disk bandwidth.
+ */
+@Component
+public class BackupVerifier implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupVerifier.class);
+
+    private final BackupVerificationConfig config;
+    private final SvnBackupConfig svnConfig;
+    private final ChunkStore chunkStore;
+    private final BackupRepository backupRepository;
+    private final ThreadPoolExecutor executor;
+    private final Throttle throttle;
+
+    @Autowired
+    public BackupVerifier(BackupVerificationConfig config, SvnBackupConfig svnConfig, ChunkStore chunkStore,
+                          BackupRepository backupRepository) {
+        this.config = config;
+        this.svnConfig = svnConfig;
+        this.chunkStore = chunkStore;
+        this.backupRepository = backupRepository;
+        this.throttle = new Throttle(config.getMaxBytesPerSecond());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(), config.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "backup-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queue a backup for verification once the current transaction, if any, has committed.
+     */
+    public void submit(Long backupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(backupId);
+                }
+            });
+        } else {
+            enqueue(backupId);
+        }
+    }
+
+    private void enqueue(Long backupId) {
+        try {
+            executor.execute(() -> verify(backupId));
+        } catch (RejectedExecutionException e) {
+            // The backup stays Pending and can be verified again through the API
+            logger.warn("Verification queue full, backup {} not verified", backupId);
+        }
+    }
+
+    void verify(Long backupId) {
+        Backup backup = backupRepository.findById(backupId).orElse(null);
+        if (backup == null || backup.getManifests() == null || backup.getManifests().isBlank()) {
+            return;
+        }
+
+        StringBuilder log = new StringBuilder();
+        boolean verified = true;
+        long start = System.currentTimeMillis();
+        for (String manifest : backup.getManifests().split("\n")) {
+            try {
+                long bytes = verifyManifest(manifest);
+                log.append(String.format("%s: OK, %d bytes%n", manifest, bytes));
+            } catch (Exception e) {
+                verified = false;
+                log.append(String.format("%s: FAILED, %s%n", manifest, e.getMessage()));
+            }
+        }
+        log.append(String.format("Verified in %d ms%n", System.currentTimeMillis() - start));
+
+        // Reload so the verification result does not overwrite changes made while it ran
+        Backup current = backupRepository.findById(backupId).orElse(null);
+        if (current == null) {
+            return;
+        }
+        current.setVerificationStatus(verified ? "Verified" : "Failed");
+        current.setVerifiedAt(LocalDateTime.now());
+        current.setVerificationLog(log.toString());
+        backupRepository.save(current);
+        logger.info("Backup {} verification {}", current.getBackupId(), verified ? "passed" : "failed");
+    }
+
+    // Stream one dump out of the store, checking its checksum and optionally loading it into a scratch repository
+    private long verifyManifest(String manifest) throws IOException, InterruptedException {
+        String expected = chunkStore.checksum(manifest);
+        MessageDigest digest = sha256();
+
+        Path scratch = null;
+        Process load = null;
+        try {
+            OutputStream sink = OutputStream.nullOutputStream();
+            if (config.isRestoreTest()) {
+                scratch = Paths.get(config.getScratchDir()).toAbsolutePath().resolve(UUID.randomUUID().toString());
+                Files.createDirectories(scratch.getParent());
+                svnadmin("create", scratch.toString());
+                load = new ProcessBuilder(svnConfig.getSvnadminCommand(), "load", "--quiet", scratch.toString())
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                sink = load.getOutputStream();
+            }
+
+            CountingOutputStream counter;
+            try (OutputStream out = counter = new CountingOutputStream(new DigestOutputStream(sink, digest), throttle)) {
+                chunkStore.read(manifest, Channels.newChannel(out));
+            }
+
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (!actual.equals(expected)) {
+                throw new IOException("checksum mismatch, expected " + expected + " but read " + actual);
+            }
+            if (load != null) {
+                if (!load.waitFor(svnConfig.getCommandTimeoutMs(), TimeUnit.MILLISECONDS) || load.exitValue() != 0) {
+                    throw new IOException("svnadmin load into scratch repository failed");
+                }
+                svnadmin("verify", "--quiet", scratch.toString());
+            }
+            return counter.count;
+        } finally {
+            if (load != null) {
+                load.destroyForcibly();
+            }
+            if (scratch != null) {
+                deleteRecursively(scratch);
+            }
+        }
+    }
+
+    private void svnadmin(String... args) throws IOException, InterruptedException {
+        String[] command = new String[args.length + 1];
+        command[0] = svnConfig.getSvnadminCommand();
+        System.arraycopy(args, 0, command, 1, args.length);
+
+        Path output = Files.createTempFile("svn-verify", ".log");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+            if (!process.waitFor(svnConfig.getCommandTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("svnadmin " + args[0] + " timed out");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("svnadmin " + args[0] + " exited with " + process.exitValue() + ": "
+                        + Files.readString(output).strip());
+            }
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Could not delete scratch repository {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Counts bytes written and waits on the shared throttle before passing them on.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final Throttle throttle;
+        private long count;
+
+        CountingOutputStream(OutputStream out, Throttle throttle) {
+            super(out);
+            this.throttle = throttle;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            throttle.acquire(1);
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throttle.acquire(len);
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Byte budget per second shared by all verifications; 0 or less disables it.
+     */
+    private static class Throttle {
+        private final long bytesPerSecond;
+        private long nextFreeNanos = System.nanoTime();
+
+        Throttle(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        void acquire(long bytes) throws IOException {
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                // Unused budget does not accumulate beyond the present
+                nextFreeNanos = Math.max(nextFreeNanos, now) + bytes * 1_000_000_000L / bytesPerSecond;
+                waitNanos = nextFreeNanos - now - 1_000_000_000L;
+            }
+            // Allow up to a second of burst before waiting
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Verification interrupted", e);
+                }
+            }
+        }
+    }
+}
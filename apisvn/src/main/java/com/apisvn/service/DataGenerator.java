@@ -0,0 +1,296 @@
+package com.apisvn.service;
+
+import com.apisvn.config.DataGeneratorConfig;
+import com.microservices.common.jdbc.BulkInsert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the database with synthetic users, repositories, memberships, backups, migrations and schedules, so
+ * pagination, aggregation and search can be measured at production scale. Enabled with {@code datagen.enabled};
+ * see {@link DataGeneratorConfig} for the sizes.
+ * <p>
+ * Rows bypass JPA and are written with multi-row inserts, several id ranges in parallel. Ids are assigned here,
+ * after the highest existing id of each table, so the membership and backup links can be written without
+ * reading anything back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "datagen", name = "enabled", havingValue = "true")
+public class DataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    // Repeated values make the common case common, as in the real data
+    private static final String[] ROLES = {"Developer", "Developer", "Developer", "Admin", "ReadOnly"};
+    private static final String[] USER_STATUSES = {"Active", "Active", "Active", "Active", "Active", "Inactive", "Locked"};
+    private static final String[] GROUPS = {"Frontend", "Backend", "DevOps", "QA", "Mobile", "Data", "Security", "Platform"};
+    private static final String[] COLORS = {"bg-blue-500", "bg-green-500", "bg-purple-500", "bg-red-500", "bg-yellow-500", "bg-indigo-500"};
+    private static final String[] BACKUP_STATUSES = {"Complete", "Complete", "Complete", "Complete", "Complete", "Complete", "Complete", "Complete", "In Progress", "Failed"};
+    private static final String[] VERIFICATION_STATUSES = {"Verified", "Verified", "Verified", "Verified", "Failed", "Pending"};
+    private static final String[] REPOSITORY_MIGRATION_STATUSES = {"Completed", "In Progress", "Not Started", "Archived"};
+    private static final String[] MIGRATION_STATUSES = {"Completed", "Completed", "In Progress", "Not Started", "Failed"};
+    private static final String[] FREQUENCIES = {"Daily", "Weekly", "Monthly"};
+
+    // Backups and commits are spread over this many days before now
+    private static final long HISTORY_DAYS = 3 * 365;
+
+    private final DataGeneratorConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public DataGenerator(DataGeneratorConfig config, JdbcTemplate jdbcTemplate, ConfigurableApplicationContext context) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String quote = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getIdentifierQuoteString().trim());
+        boolean h2 = "H2".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+
+        long users = config.getUsers();
+        long repositories = config.getRepositories();
+        long firstUser = nextId("users");
+        long firstRepository = nextId("repositories");
+        long firstBackup = nextId("backups");
+        long firstMigration = nextId("git_migrations");
+        long firstSchedule = nextId("backup_schedules");
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        try {
+            generate(executor, "users", List.of("id", "username", "full_name", "email", "role", "status",
+                    quote + "group" + quote, "color_code", "initials", "last_activity", "created_at", "updated_at"),
+                    users, (i, random, insert) -> {
+                        long id = firstUser + i;
+                        LocalDateTime created = now.minusDays(random.nextLong(HISTORY_DAYS));
+                        insert.add(id, "user" + id, "User " + id, "user" + id + "@example.com",
+                                pick(random, ROLES), pick(random, USER_STATUSES), pick(random, GROUPS),
+                                pick(random, COLORS), "U" + (id % 10), now.minusMinutes(random.nextLong(60 * 24 * 90)),
+                                created, created);
+                    });
+
+            generate(executor, "repositories", List.of("id", "name", "description", "size", "last_commit",
+                    "last_commit_by", "backup_status", "migration_status", "migration_progress", "color_code",
+                    "created_date", "created_at", "updated_at"),
+                    repositories, (i, random, insert) -> {
+                        long id = firstRepository + i;
+                        LocalDateTime created = now.minusDays(random.nextLong(HISTORY_DAYS));
+                        String migrationStatus = pick(random, REPOSITORY_MIGRATION_STATUSES);
+                        int progress = switch (migrationStatus) {
+                            case "Completed", "Archived" -> 100;
+                            case "Not Started" -> 0;
+                            default -> random.nextInt(1, 100);
+                        };
+                        insert.add(id, "repo-" + id, "Generated repository " + id,
+                                BackupService.formatSize(logNormalBytes(random)),
+                                now.minusMinutes(random.nextLong(60 * 24 * 30)),
+                                users > 0 ? "user" + (firstUser + random.nextLong(users)) : null,
+                                pick(random, BACKUP_STATUSES), migrationStatus, progress, pick(random, COLORS),
+                                created, created, created);
+                    });
+
+            if (users > 0) {
+                generate(executor, "repository_members", List.of("repository_id", "user_id"),
+                        repositories, (i, random, insert) -> {
+                            for (long userId : distinct(random, firstUser, users, config.getMembersPerRepository())) {
+                                insert.add(firstRepository + i, userId);
+                            }
+                        });
+            }
+
+            generate(executor, "backups", List.of("id", "backup_id", "date", "type", "status", "size",
+                    "logical_size", "physical_size", "duration_ms", "verification_status", "verified_at",
+                    "duration", "initiated_by", "created_at", "updated_at"),
+                    config.getBackups(), (i, random, insert) -> {
+                        long id = firstBackup + i;
+                        // Newest first, evenly spread over the history
+                        LocalDateTime date = now.minusSeconds(i * HISTORY_DAYS * 86_400 / Math.max(1, config.getBackups()));
+                        // Every backup is a full dump; most share nearly all their chunks with earlier ones
+                        boolean mostlyNew = random.nextInt(7) == 0;
+                        long logicalSize = logNormalBytes(random) * 4;
+                        long physicalSize = (long) (logicalSize * (mostlyNew ? random.nextDouble(0.2, 0.7) : random.nextDouble(0.01, 0.1)));
+                        long durationMs = logicalSize / random.nextLong(20, 200) / 1024;
+                        String status = pick(random, BACKUP_STATUSES);
+                        String verification = "Complete".equals(status) ? pick(random, VERIFICATION_STATUSES) : null;
+                        insert.add(id, "BKP-G" + id, date, "Full", status,
+                                BackupService.formatSize(logicalSize) + " (" + BackupService.formatSize(physicalSize) + " stored)",
+                                logicalSize, physicalSize, durationMs, verification,
+                                verification != null ? date.plusSeconds(durationMs / 1000 + 60) : null,
+                                BackupService.formatDuration(durationMs), "scheduler", date, date);
+                    });
+
+            if (repositories > 0) {
+                generate(executor, "backup_repositories", List.of("backup_id", "repository_id"),
+                        config.getBackups(), (i, random, insert) -> {
+                            for (long repositoryId : distinct(random, firstRepository, repositories, config.getRepositoriesPerBackup())) {
+                                insert.add(firstBackup + i, repositoryId);
+                            }
+                        });
+            }
+
+            generate(executor, "git_migrations", List.of("id", "name", "description", "size", "status", "progress",
+                    "started_date", "completed_date", "estimated_time", "assigned_to", "color_code", "repository_id",
+                    "created_at", "updated_at"),
+                    config.getMigrations(), (i, random, insert) -> {
+                        long id = firstMigration + i;
+                        String status = pick(random, MIGRATION_STATUSES);
+                        LocalDateTime startedDate = "Not Started".equals(status) ? null : now.minusDays(random.nextLong(1, 365));
+                        insert.add(id, "migration-" + id, "Generated migration " + id,
+                                BackupService.formatSize(logNormalBytes(random)), status,
+                                switch (status) {
+                                    case "Completed" -> 100;
+                                    case "Not Started" -> 0;
+                                    default -> random.nextInt(1, 100);
+                                },
+                                startedDate,
+                                "Completed".equals(status) ? startedDate.plusHours(random.nextLong(1, 72)) : null,
+                                random.nextInt(1, 48) + "h",
+                                users > 0 ? "user" + (firstUser + random.nextLong(users)) : null,
+                                pick(random, COLORS),
+                                repositories > 0 ? firstRepository + i % repositories : null,
+                                now, now);
+                    });
+
+            generate(executor, "backup_schedules", List.of("id", "schedule_id", "name", "type", "frequency", "time",
+                    "retention", "status", "created_at", "updated_at"),
+                    config.getSchedules(), (i, random, insert) -> {
+                        long id = firstSchedule + i;
+                        insert.add(id, "SCH-G" + id, "Generated schedule " + id,
+                                "Full", pick(random, FREQUENCIES),
+                                String.format("%02d:%02d", random.nextInt(24), random.nextInt(4) * 15),
+                                random.nextInt(1, 13) * 30 + " days", random.nextInt(5) == 0 ? "Inactive" : "Active",
+                                now, now);
+                    });
+
+            if (repositories > 0) {
+                generate(executor, "schedule_repositories", List.of("schedule_id", "repository_id"),
+                        config.getSchedules(), (i, random, insert) -> {
+                            for (long repositoryId : distinct(random, firstRepository, repositories, config.getRepositoriesPerSchedule())) {
+                                insert.add(firstSchedule + i, repositoryId);
+                            }
+                        });
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // MySQL moves AUTO_INCREMENT past explicitly inserted ids by itself; H2 (used by the load-test stack)
+        // has to be told, or the next insert through JPA collides with a generated row
+        if (h2) {
+            restartIdentity("users", firstUser + users);
+            restartIdentity("repositories", firstRepository + repositories);
+            restartIdentity("backups", firstBackup + config.getBackups());
+            restartIdentity("git_migrations", firstMigration + config.getMigrations());
+            restartIdentity("backup_schedules", firstSchedule + config.getSchedules());
+        }
+
+        logger.info("Generated data in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        if (config.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    /**
+     * Writes {@code count} rows, split into one contiguous index range per thread. Each range holds one
+     * pooled connection for its whole run, instead of borrowing one per statement, and has its own statement
+     * buffer and random generator, seeded from the range start so the data does not depend on the thread
+     * count or on scheduling. Statements still commit one by one, so a range is not one huge transaction.
+     */
+    private void generate(ExecutorService executor, String table, List<String> columns, long count, RowWriter writer)
+            throws InterruptedException, ExecutionException {
+        if (count <= 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        int threads = (int) Math.min(config.getThreads(), count);
+        long rangeSize = (count + threads - 1) / threads;
+
+        List<Future<Long>> ranges = new ArrayList<>();
+        for (long from = 0; from < count; from += rangeSize) {
+            long start = from;
+            long end = Math.min(count, from + rangeSize);
+            ranges.add(executor.submit(() -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                // Not closed: the connection goes back to the pool when the callback returns
+                JdbcTemplate rangeTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                SplittableRandom random = new SplittableRandom(config.getSeed() ^ table.hashCode() ^ start);
+                try (BulkInsert insert = new BulkInsert(rangeTemplate, table, columns, config.getRowsPerStatement())) {
+                    for (long i = start; i < end; i++) {
+                        writer.write(i, random, insert);
+                    }
+                    insert.flush();
+                    return insert.getWritten();
+                }
+            })));
+        }
+
+        long rows = 0;
+        for (Future<Long> range : ranges) {
+            rows += range.get();
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Generated {} rows in {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void restartIdentity(String table, long nextId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+    }
+
+    /**
+     * Between 1 and {@code 2 * mean - 1} distinct ids from {@code [first, first + count)}, evenly strided from a
+     * random start so no id repeats within one row's links.
+     */
+    private static long[] distinct(SplittableRandom random, long first, long count, int mean) {
+        int links = (int) Math.min(count, random.nextInt(1, Math.max(2, 2 * mean)));
+        long stride = count / links;
+        long base = random.nextLong(count);
+        long[] ids = new long[links];
+        for (int j = 0; j < links; j++) {
+            ids[j] = first + (base + j * stride) % count;
+        }
+        return ids;
+    }
+
+    // Mostly tens to hundreds of MB with a long tail of multi-GB repositories
+    private static long logNormalBytes(SplittableRandom random) {
+        return (long) (1024 * 1024 * Math.exp(random.nextDouble() * 4 + random.nextDouble() * 4));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, SplittableRandom random, BulkInsert insert);
+    }
+}
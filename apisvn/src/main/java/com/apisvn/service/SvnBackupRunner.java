@@ -0,0 +1,90 @@
+package com.apisvn.service;
+
+import com.apisvn.config.SvnBackupConfig;
+import com.microservices.common.backup.ChunkStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumps SVN repositories with {@code svnadmin dump} straight into the {@link ChunkStore}, without an
+ * intermediate dump file.
+ */
+@Component
+public class SvnBackupRunner {
+
+    private final SvnBackupConfig config;
+    private final ChunkStore chunkStore;
+
+    @Autowired
+    public SvnBackupRunner(SvnBackupConfig config, ChunkStore chunkStore) {
+        this.config = config;
+        this.chunkStore = chunkStore;
+    }
+
+    @Timed(value = "svn.backup.dump", histogram = true)
+    public ChunkStore.StoredObject dump(String backupId, String repositoryName) throws IOException {
+        Path repository = repositoryPath(repositoryName);
+        if (!Files.isDirectory(repository)) {
+            throw new IOException("SVN repository not found: " + repository);
+        }
+
+        // Full-text revisions (no --deltas) keep identical file content byte-identical across dumps, so it dedups
+        ProcessBuilder builder = new ProcessBuilder(config.getSvnadminCommand(), "dump", "--quiet", repository.toString());
+        Path errors = Files.createTempFile("svn-dump", ".log");
+        builder.redirectError(errors.toFile());
+
+        String name = "svn/" + repositoryName + "/" + backupId;
+        Process process = builder.start();
+        CompletableFuture.delayedExecutor(config.getCommandTimeoutMs(), TimeUnit.MILLISECONDS)
+                .execute(process::destroyForcibly);
+        try {
+            ChunkStore.StoredObject stored;
+            try (InputStream dump = process.getInputStream()) {
+                stored = chunkStore.put(name, dump);
+            }
+
+            if (process.waitFor() != 0) {
+                chunkStore.delete(name);
+                throw new IOException("svnadmin dump of " + repositoryName + " exited with " + process.exitValue()
+                        + ": " + Files.readString(errors).strip());
+            }
+            return stored;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            chunkStore.delete(name);
+            throw new IOException("svnadmin dump of " + repositoryName + " was interrupted", e);
+        } finally {
+            Files.deleteIfExists(errors);
+        }
+    }
+
+    /**
+     * The repository's directory under the repositories root. Names come from the database and end up in
+     * the svnadmin command line and the store's manifest path, so a name that is absolute, contains
+     * {@code ..} or otherwise resolves outside the root is refused.
+     */
+    private Path repositoryPath(String repositoryName) {
+        Path root = Paths.get(config.getRepositoriesRoot()).toAbsolutePath().normalize();
+        Path name = Paths.get(repositoryName);
+        boolean parentReference = false;
+        for (Path part : name) {
+            parentReference |= part.toString().equals("..");
+        }
+        Path repository = root.resolve(name).normalize();
+        if (repositoryName.isBlank() || name.isAbsolute() || parentReference
+                || !repository.startsWith(root) || repository.equals(root)) {
+            throw new IllegalArgumentException("Invalid SVN repository name: " + repositoryName);
+        }
+        return repository;
+    }
+}
@@ -169,6 +169,13 @@ public class EntityDTOMapper {
         dto.setType(backup.getType());
         dto.setStatus(backup.getStatus());
         dto.setSize(backup.getSize());
+        dto.setLogicalSize(backup.getLogicalSize());
+        dto.setPhysicalSize(backup.getPhysicalSize());
+        dto.setVerificationStatus(backup.getVerificationStatus());
+        dto.setVerificationLog(backup.getVerificationLog());
+        if (backup.getVerifiedAt() != null) {
+            dto.setVerifiedAt(backup.getVerifiedAt().format(DATE_FORMATTER));
+        }
         dto.setDuration(backup.getDuration());
         dto.setInitiatedBy(backup.getInitiatedBy());
         dto.setNotes(backup.getNotes());
@@ -0,0 +1,147 @@
+package com.apisvn.service;
+
+import com.apisvn.config.BackupVerificationConfig;
+import com.apisvn.config.SvnBackupConfig;
+import com.apisvn.model.Backup;
+import com.apisvn.repository.BackupRepository;
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verification of stored dumps read back from the store. The scratch-repository restore needs svnadmin and
+ * is left off, so only the checksums and the read budget are checked.
+ */
+class BackupVerifierTest {
+
+    private static final String MANIFEST = "svn/trunk/BKP-1";
+
+    @TempDir
+    Path dir;
+
+    private ChunkStore chunkStore;
+    private BackupVerificationConfig config;
+    private BackupRepository backupRepository;
+    private BackupVerifier verifier;
+    private Backup backup;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BackupStoreConfig storeConfig = new BackupStoreConfig();
+        storeConfig.setDir(dir.toString());
+        JdbcDataSource index = new JdbcDataSource();
+        index.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        chunkStore = new ChunkStore(storeConfig, index);
+
+        config = new BackupVerificationConfig();
+        config.setRestoreTest(false);
+        config.setMaxBytesPerSecond(0);
+
+        backup = new Backup();
+        backup.setId(1L);
+        backup.setBackupId("BKP-1");
+        backup.setManifests(MANIFEST);
+        backupRepository = mock(BackupRepository.class);
+        when(backupRepository.findById(1L)).thenReturn(Optional.of(backup));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (verifier != null) {
+            verifier.destroy();
+        }
+        chunkStore.destroy();
+    }
+
+    @Test
+    void intactDumpIsVerified() throws Exception {
+        chunkStore.put(MANIFEST, new ByteArrayInputStream(dump()));
+
+        verifier().verify(1L);
+
+        assertThat(backup.getVerificationStatus()).isEqualTo("Verified");
+        assertThat(backup.getVerificationLog()).contains(MANIFEST + ": OK, " + dump().length + " bytes");
+    }
+
+    @Test
+    void corruptCompressedChunkFailsVerification() throws Exception {
+        chunkStore.put(MANIFEST, new ByteArrayInputStream(dump()));
+        Path chunk = chunkFiles().stream().filter(file -> file.toString().endsWith(".gz")).findFirst().orElseThrow();
+        corrupt(chunk);
+
+        verifier().verify(1L);
+
+        assertThat(backup.getVerificationStatus()).isEqualTo("Failed");
+        assertThat(backup.getVerificationLog()).contains(MANIFEST + ": FAILED");
+    }
+
+    @Test
+    void corruptUncompressedChunkFailsTheChecksum() throws Exception {
+        // Random bytes do not compress, so the chunk is stored as is and only the whole-dump checksum catches it
+        byte[] random = new byte[12 * 1024];
+        new Random(1).nextBytes(random);
+        chunkStore.put(MANIFEST, new ByteArrayInputStream(random));
+        corrupt(chunkFiles().get(0));
+
+        verifier().verify(1L);
+
+        assertThat(backup.getVerificationStatus()).isEqualTo("Failed");
+        assertThat(backup.getVerificationLog()).contains("checksum mismatch");
+    }
+
+    @Test
+    void readsAreHeldToTheByteBudget() throws Exception {
+        // Twice the budget: the first second's worth passes as a burst, the rest waits about a second
+        config.setMaxBytesPerSecond(256 * 1024);
+        byte[] random = new byte[512 * 1024];
+        new Random(1).nextBytes(random);
+        chunkStore.put(MANIFEST, new ByteArrayInputStream(random));
+
+        long start = System.nanoTime();
+        verifier().verify(1L);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(backup.getVerificationStatus()).isEqualTo("Verified");
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(900);
+    }
+
+    private BackupVerifier verifier() {
+        verifier = new BackupVerifier(config, new SvnBackupConfig(), chunkStore, backupRepository);
+        return verifier;
+    }
+
+    private static byte[] dump() {
+        return "Node-path: trunk/README\nNode-kind: file\n".repeat(2000).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Path> chunkFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(dir.resolve("chunks"))) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static void corrupt(Path chunk) throws Exception {
+        byte[] bytes = Files.readAllBytes(chunk);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(chunk, bytes);
+    }
+}
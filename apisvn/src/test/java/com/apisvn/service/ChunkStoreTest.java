@@ -0,0 +1,115 @@
+package com.apisvn.service;
+
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dedup and reference counting of SVN dumps in the store: two dumps of a repository differ by a commit.
+ */
+class ChunkStoreTest {
+
+    private static final int DUMP_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate index;
+    private ChunkStore chunkStore;
+
+    private byte[] first;
+    private byte[] second;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BackupStoreConfig config = new BackupStoreConfig();
+        config.setDir(dir.toString());
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        index = new JdbcTemplate(dataSource);
+        chunkStore = new ChunkStore(config, dataSource);
+
+        // Random bytes, so every chunk is distinct and stored uncompressed; the second dump has a few hundred
+        // bytes inserted in the middle, shifting everything after them
+        first = new byte[DUMP_SIZE];
+        new Random(1).nextBytes(first);
+        byte[] commit = new byte[300];
+        new Random(2).nextBytes(commit);
+        second = new byte[DUMP_SIZE + commit.length];
+        System.arraycopy(first, 0, second, 0, DUMP_SIZE / 2);
+        System.arraycopy(commit, 0, second, DUMP_SIZE / 2, commit.length);
+        System.arraycopy(first, DUMP_SIZE / 2, second, DUMP_SIZE / 2 + commit.length, DUMP_SIZE / 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        chunkStore.destroy();
+    }
+
+    @Test
+    void similarDumpsShareAllChunksButTheChangedOnes() throws Exception {
+        ChunkStore.StoredObject stored = chunkStore.put("svn/trunk/BKP-1", new ByteArrayInputStream(first));
+        ChunkStore.StoredObject next = chunkStore.put("svn/trunk/BKP-2", new ByteArrayInputStream(second));
+
+        assertThat(stored.newSize()).isEqualTo(DUMP_SIZE);
+        assertThat(stored.chunkCount()).isGreaterThan(4);
+        // Chunk boundaries resynchronise after the insertion, so only the chunks around it are new
+        assertThat(next.newSize()).isPositive().isLessThan(second.length / 4);
+        assertThat(chunks()).isLessThan(stored.chunkCount() + next.chunkCount());
+        assertThat(read("svn/trunk/BKP-2")).isEqualTo(second);
+    }
+
+    @Test
+    void deletingADumpReleasesOnlyTheChunksNoOtherDumpReferences() throws Exception {
+        ChunkStore.StoredObject stored = chunkStore.put("svn/trunk/BKP-1", new ByteArrayInputStream(first));
+        ChunkStore.StoredObject next = chunkStore.put("svn/trunk/BKP-2", new ByteArrayInputStream(second));
+        long shared = index.queryForObject("SELECT COUNT(*) FROM backup_chunks WHERE ref_count = 2", Long.class);
+        assertThat(shared).isPositive().isLessThan(stored.chunkCount());
+
+        chunkStore.delete("svn/trunk/BKP-1");
+
+        assertThat(index.queryForObject("SELECT COUNT(*) FROM backup_chunks WHERE ref_count <> 1", Long.class))
+                .isZero();
+        assertThat(chunks()).isEqualTo(next.chunkCount());
+        assertThat(chunkFiles()).isEqualTo(next.chunkCount());
+        assertThat(read("svn/trunk/BKP-2")).isEqualTo(second);
+
+        chunkStore.delete("svn/trunk/BKP-2");
+
+        assertThat(chunks()).isZero();
+        assertThat(chunkFiles()).isZero();
+        assertThat(chunkStore.list("svn/trunk")).isEmpty();
+    }
+
+    private long chunks() {
+        return index.queryForObject("SELECT COUNT(*) FROM backup_chunks", Long.class);
+    }
+
+    private long chunkFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(dir.resolve("chunks"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private byte[] read(String name) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunkStore.read(name, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.apisvn.service;
+
+import com.apisvn.config.SvnBackupConfig;
+import com.microservices.common.backup.BackupStoreConfig;
+import com.microservices.common.backup.ChunkStore;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dumps through a stand-in for svnadmin that prints the file {@code dump} of the repository directory, or
+ * fails when the directory holds a file {@code fail}.
+ */
+class SvnBackupRunnerTest {
+
+    private static final String SVNADMIN = """
+            #!/bin/sh
+            if [ -f "$3/fail" ]; then echo "corrupt repository" >&2; exit 1; fi
+            cat "$3/dump"
+            """;
+
+    @TempDir
+    Path dir;
+
+    private Path repositories;
+    private ChunkStore chunkStore;
+    private SvnBackupRunner runner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BackupStoreConfig storeConfig = new BackupStoreConfig();
+        storeConfig.setDir(dir.resolve("store").toString());
+        JdbcDataSource index = new JdbcDataSource();
+        index.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        chunkStore = new ChunkStore(storeConfig, index);
+
+        Path svnadmin = dir.resolve("svnadmin");
+        Files.writeString(svnadmin, SVNADMIN);
+        Files.setPosixFilePermissions(svnadmin, PosixFilePermissions.fromString("rwx------"));
+        repositories = Files.createDirectories(dir.resolve("repositories"));
+
+        SvnBackupConfig config = new SvnBackupConfig();
+        config.setRepositoriesRoot(repositories.toString());
+        config.setSvnadminCommand(svnadmin.toString());
+        runner = new SvnBackupRunner(config, chunkStore);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        chunkStore.destroy();
+    }
+
+    @Test
+    void dumpIsStoredUnderTheRepositoryAndBackup() throws Exception {
+        repository("trunk", "SVN-fs-dump-format-version: 2\n");
+
+        ChunkStore.StoredObject stored = runner.dump("BKP-1", "trunk");
+
+        assertThat(stored.manifest()).isEqualTo("svn/trunk/BKP-1");
+        assertThat(read("svn/trunk/BKP-1")).isEqualTo("SVN-fs-dump-format-version: 2\n");
+    }
+
+    @Test
+    void failedDumpIsDroppedFromTheStore() throws Exception {
+        Files.createFile(repository("trunk", "partial").resolve("fail"));
+
+        assertThatThrownBy(() -> runner.dump("BKP-1", "trunk"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("corrupt repository");
+        assertThat(chunkStore.list("svn/trunk")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"..", "../outside", "trunk/../../outside", "/tmp/outside", "", "."})
+    void namesOutsideTheRepositoriesRootAreRefused(String name) throws Exception {
+        repository("../outside", "secret");
+
+        assertThatThrownBy(() -> runner.dump("BKP-1", name))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid SVN repository name");
+        assertThat(Files.exists(dir.resolve("store/manifests"))).isFalse();
+    }
+
+    private Path repository(String name, String dump) throws IOException {
+        Path repository = Files.createDirectories(repositories.resolve(name).normalize());
+        Files.writeString(repository.resolve("dump"), dump);
+        return repository;
+    }
+
+    private String read(String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunkStore.read(name, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
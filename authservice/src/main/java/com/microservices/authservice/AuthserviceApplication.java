@@ -1,13 +1,21 @@
 package com.microservices.authservice;
 
+import com.microservices.authservice.config.NativeHints;
+import com.microservices.common.config.ConfigChangeSubscriber;
+import com.microservices.common.config.RegistrationWarmup;
+import com.microservices.common.config.SelectiveConfigurationPropertiesRebinder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableWebSecurity
+@ImportRuntimeHints(NativeHints.class)
+@Import({RegistrationWarmup.class, ConfigChangeSubscriber.class, SelectiveConfigurationPropertiesRebinder.class})
 public class AuthserviceApplication {
 
     public static void main(String[] args) {
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for JWT settings.
  * Maps application.yml properties under the 'app.jwt' prefix to this class.
@@ -13,9 +16,16 @@ import org.springframework.context.annotation.Configuration;
 @Data
 public class JwtConfig {
     /**
-     * Secret key used for signing JWT tokens.
+     * Id of the key in {@link #keys} used to sign new tokens.
+     * Defaults to the first configured key.
      */
-    private String secret;
+    private String activeKeyId;
+
+    /**
+     * RSA key pairs used for RS256 signing. All public keys are published on the JWKS endpoint,
+     * so a retired key can stay here until the tokens it signed have expired.
+     */
+    private List<SigningKey> keys = new ArrayList<>();
 
     /**
      * Expiration time for access tokens in milliseconds.
@@ -26,4 +36,25 @@ public class JwtConfig {
      * Expiration time for refresh tokens in milliseconds.
      */
     private int refreshExpirationMs;
-}
\ No newline at end of file
+
+    /**
+     * An RSA key pair identified by its JWK key id.
+     */
+    @Data
+    public static class SigningKey {
+        /**
+         * Key id published as 'kid' in the token header and the JWKS.
+         */
+        private String id;
+
+        /**
+         * Base64-encoded PKCS#8 RSA private key.
+         */
+        private String privateKey;
+
+        /**
+         * Base64-encoded X.509 RSA public key.
+         */
+        private String publicKey;
+    }
+}
@@ -0,0 +1,46 @@
+package com.microservices.authservice.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image (see "Native images" in the README).
+ * Spring registers the controller, entity and configuration properties types itself, and Caffeine's
+ * generated cache classes; these cover the libraries that load classes by name.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api creates its implementation classes by name, so nothing references them statically
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        // The JSON (de)serializer is found with ServiceLoader
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        hints.reflection().registerType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonSerializer"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonDeserializer"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Mixed into Applications when the Eureka registry is fetched; the Eureka client's hints cover
+        // the InstanceInfo mix-in only
+        hints.reflection().registerType(
+                TypeReference.of("com.netflix.discovery.converters.jackson.mixin.ApplicationsJsonMixIn"),
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservices.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for password hashing.
+ * Maps application.yml properties under the 'app.security.password-hashing' prefix to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+@Data
+public class PasswordHashingConfig {
+    /**
+     * Number of hashing threads. Defaults to the number of available processors.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of hashing tasks allowed to wait for a thread before new ones are rejected.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum time a request waits for its hash to complete, in milliseconds. The hash itself is not
+     * stopped and keeps its thread until done.
+     */
+    private long timeoutMs = 5000;
+
+    /**
+     * BCrypt work factor for new hashes. Each step doubles the hashing time; pick it from the
+     * LoginThroughputBenchmark numbers on the production hardware rather than at startup, where a
+     * cold JIT would measure a far slower machine than the one serving logins.
+     */
+    private int strength = 10;
+}
@@ -2,6 +2,7 @@ package com.microservices.authservice.config;
 
 import com.microservices.authservice.security.jwt.AuthTokenFilter;
 import com.microservices.authservice.security.jwt.JwtAuthEntryPoint;
+import com.microservices.authservice.security.services.BoundedPasswordEncoder;
 import com.microservices.authservice.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -17,6 +18,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -31,12 +33,18 @@ import java.util.Arrays;
 //@EnableWebSecurity
 //@EnableMethodSecurity
 public class SecurityConfig {
+    private static final WebExpressionAuthorizationManager LOCAL_SCRAPE =
+            new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')");
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
     @Autowired
     private JwtAuthEntryPoint unauthorizedHandler;
 
+    @Autowired
+    private PasswordHashingConfig passwordHashingConfig;
+
 
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -62,7 +70,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingConfig.getStrength()), passwordHashingConfig);
     }
 
 
@@ -90,7 +98,9 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers("/api/auth/login","/tool","/learn-more").permitAll()
+                        auth.requestMatchers("/api/auth/login","/tool","/learn-more","/.well-known/jwks.json").permitAll()
+                                   // Metrics and health are scraped from the same host only
+                                   .requestMatchers("/actuator/health", "/actuator/prometheus").access(LOCAL_SCRAPE)
                                    .anyRequest().authenticated()
                 );
 
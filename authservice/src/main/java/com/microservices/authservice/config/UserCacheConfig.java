@@ -0,0 +1,29 @@
+package com.microservices.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the per-request UserDetails cache.
+ * Maps application.yml properties under the 'app.security.user-cache' prefix to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.security.user-cache")
+@Data
+public class UserCacheConfig {
+    /**
+     * Whether authenticated requests resolve users through the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached users.
+     */
+    private long maxSize = 1000;
+
+    /**
+     * Time after which a cached user is reloaded from the database, in milliseconds.
+     */
+    private long ttlMs = 300000;
+}
@@ -0,0 +1,33 @@
+package com.microservices.authservice.controller;
+
+import com.microservices.authservice.security.jwt.JwtKeyProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller publishing the public keys used to verify JWT tokens.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtKeyProvider jwtKeyProvider;
+
+    /**
+     * Get the JWK set with all active and retired verification keys.
+     *
+     * @return the JWK set
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwkSet() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyProvider.getJwkSet());
+    }
+}
@@ -6,6 +6,7 @@ import com.microservices.authservice.dto.response.UserResponse;
 import com.microservices.authservice.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +15,9 @@ import java.util.List;
 
 /**
  * REST controller for user management operations.
+ * Admin-only and rarely used, so it is created on the first request rather than on startup.
  */
+@Lazy
 @RestController
 @RequestMapping("api/users")
 public class UserController {
@@ -27,6 +27,12 @@ public class SignupRequest {
     @Email(message = "Email should be valid")
     private String email;
 
+    /**
+     * Department of the new account (optional), used for row-level security in embedded dashboards.
+     */
+    @Size(max = 50, message = "Department must not exceed 50 characters")
+    private String department;
+
     /**
      * Set of roles for the new account.
      */
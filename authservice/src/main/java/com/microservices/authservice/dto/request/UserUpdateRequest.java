@@ -30,6 +30,12 @@ public class UserUpdateRequest {
     @Size(min = 6, max = 40, message = "Password must be between 6 and 40 characters")
     private String password;
 
+    /**
+     * New department (optional).
+     */
+    @Size(max = 50, message = "Department must not exceed 50 characters")
+    private String department;
+
     /**
      * New set of roles (optional).
      */
@@ -28,6 +28,11 @@ public class UserResponse {
      */
     private String email;
 
+    /**
+     * User department.
+     */
+    private String department;
+
     /**
      * User roles.
      */
@@ -42,6 +47,7 @@ public class UserResponse {
         this.id = user.getId();
         this.username = user.getUsername();
         this.email = user.getEmail();
+        this.department = user.getDepartment();
         this.roles = mapRolesToStrings(user.getRoles());
     }
 
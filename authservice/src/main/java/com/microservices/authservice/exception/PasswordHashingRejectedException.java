@@ -0,0 +1,21 @@
+package com.microservices.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the password hashing pool is saturated or a hash did not complete in time.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create a password hashing rejected exception with a specific message.
+     *
+     * @param message the error message
+     */
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -41,6 +41,9 @@ public class User {
     @Size(max = 120)
     private String password;
 
+    @Size(max = 50)
+    private String department;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,173 @@
+package com.microservices.authservice.security.jwt;
+
+import com.microservices.authservice.config.JwtConfig;
+import com.microservices.common.config.ConfigurationChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds the RSA keys used to sign and verify JWT tokens.
+ * Keys are parsed at startup and again when a pushed change touches them; the public keys are
+ * published as a JWK set so other services can verify tokens without holding a shared secret.
+ */
+@Component
+public class JwtKeyProvider extends SigningKeyResolverAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyProvider.class);
+
+    private final JwtConfig jwtConfig;
+
+    // Replaced as a whole, so a token is never signed with one key and labelled with another
+    private volatile SigningKeys keys;
+
+    public JwtKeyProvider(JwtConfig jwtConfig) throws GeneralSecurityException {
+        this.jwtConfig = jwtConfig;
+        this.keys = load(jwtConfig);
+    }
+
+    /**
+     * Reload the keys when a pushed change touches them, e.g. to rotate the active key. Tokens keep
+     * being issued and verified with the previous keys until the new ones are parsed; keys that do
+     * not parse are rejected and the previous ones stay.
+     *
+     * @param event the configuration change
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (!event.affects("app.jwt.keys") && !event.affects("app.jwt.active-key-id")) {
+            return;
+        }
+        try {
+            keys = load(jwtConfig);
+            logger.info("Reloaded {} JWT keys, signing with {}", keys.publicKeys().size(), keys.activeKeyId());
+        } catch (GeneralSecurityException | RuntimeException e) {
+            logger.error("Rejected changed JWT keys, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sign a token with the active key and name that key in its header.
+     *
+     * @param builder the token to sign
+     * @return the builder, ready to be compacted
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        SigningKeys current = keys;
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, current.activeKeyId())
+                .signWith(current.signingKey(), SignatureAlgorithm.RS256);
+    }
+
+    /**
+     * Get the published JWK set containing all verification keys.
+     *
+     * @return the JWK set as a JSON-serializable map
+     */
+    public Map<String, Object> getJwkSet() {
+        return keys.jwkSet();
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        RSAPublicKey key = keys.publicKeys().get(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    private static SigningKeys load(JwtConfig jwtConfig) throws GeneralSecurityException {
+        Map<String, RSAPublicKey> verificationKeys = new LinkedHashMap<>();
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+
+        if (jwtConfig.getKeys().isEmpty()) {
+            // Without configured keys every instance would sign with a different key,
+            // so this is only suitable for a single local instance.
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            String keyId = UUID.randomUUID().toString();
+            verificationKeys.put(keyId, (RSAPublicKey) keyPair.getPublic());
+            privateKeys.put(keyId, keyPair.getPrivate());
+            logger.warn("No app.jwt.keys configured, generated ephemeral signing key {}", keyId);
+        } else {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JwtConfig.SigningKey key : jwtConfig.getKeys()) {
+                verificationKeys.put(key.getId(), (RSAPublicKey) keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getMimeDecoder().decode(key.getPublicKey()))));
+                if (key.getPrivateKey() != null && !key.getPrivateKey().isBlank()) {
+                    privateKeys.put(key.getId(), keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(key.getPrivateKey()))));
+                }
+            }
+        }
+
+        if (privateKeys.isEmpty()) {
+            throw new IllegalStateException("No private key configured in app.jwt.keys, cannot sign JWT tokens");
+        }
+        String activeKeyId = jwtConfig.getActiveKeyId() != null
+                ? jwtConfig.getActiveKeyId()
+                : privateKeys.keySet().iterator().next();
+        PrivateKey signingKey = privateKeys.get(activeKeyId);
+        if (signingKey == null) {
+            throw new IllegalStateException("No private key configured for active JWT key id: " + activeKeyId);
+        }
+        return new SigningKeys(activeKeyId, signingKey, Collections.unmodifiableMap(verificationKeys),
+                buildJwkSet(verificationKeys));
+    }
+
+    private static Map<String, Object> buildJwkSet(Map<String, RSAPublicKey> keys) {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        keys.forEach((keyId, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", keyId);
+            jwk.put("n", base64Url(key.getModulus()));
+            jwk.put("e", base64Url(key.getPublicExponent()));
+            jwks.add(jwk);
+        });
+        return Map.of("keys", Collections.unmodifiableList(jwks));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds for values with the high bit set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record SigningKeys(String activeKeyId, PrivateKey signingKey, Map<String, RSAPublicKey> publicKeys,
+                               Map<String, Object> jwkSet) {
+    }
+}
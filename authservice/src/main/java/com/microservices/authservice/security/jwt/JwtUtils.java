@@ -1,21 +1,22 @@
 package com.microservices.authservice.security.jwt;
 
+import com.microservices.authservice.config.JwtConfig;
 import com.microservices.authservice.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io
-
-        .Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for handling JWT operations like generation, validation, and extraction.
@@ -24,11 +25,23 @@ import java.util.Date;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    // Read on every token, so a pushed change of the expiration applies to the next one
+    private final JwtConfig jwtConfig;
+
+    private final JwtKeyProvider keyProvider;
+
+    private final JwtParser jwtParser;
 
-    @Value("${app.jwt.expiration-ms}")
-    private int jwtExpirationMs;
+    private final MeterRegistry meterRegistry;
+
+    public JwtUtils(JwtConfig jwtConfig, JwtKeyProvider keyProvider, MeterRegistry meterRegistry) {
+        this.jwtConfig = jwtConfig;
+        this.keyProvider = keyProvider;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyProvider)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
      * Generate a JWT token for an authenticated user.
@@ -37,13 +50,31 @@ public class JwtUtils {
      * @return the generated JWT token
      */
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateTokenFromUserDetails((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    /**
+     * Generate a JWT token carrying the user's roles and department, so downstream services
+     * can authorize and filter without calling back to this service.
+     *
+     * @param userDetails the user to generate a token for
+     * @return the generated JWT token
+     */
+    public String generateTokenFromUserDetails(UserDetailsImpl userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(userDetails.getUsername())
+                .claim("roles", roles);
+        if (userDetails.getDepartment() != null) {
+            builder.claim("department", userDetails.getDepartment());
+        }
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+        return keyProvider.sign(builder
                 .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date((new Date()).getTime() + jwtConfig.getExpirationMs())))
                 .compact();
     }
 
@@ -54,23 +85,13 @@ public class JwtUtils {
      * @return the generated JWT token
      */
     public String generateTokenFromUsername(String username) {
-        return Jwts.builder()
+        return keyProvider.sign(Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date((new Date()).getTime() + jwtConfig.getExpirationMs())))
                 .compact();
     }
 
-    /**
-     * Get the signing key for JWT token generation and validation.
-     *
-     * @return the signing key
-     */
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     /**
      * Extract username from a JWT token.
      *
@@ -78,9 +99,7 @@ public class JwtUtils {
      * @return the username
      */
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
@@ -93,20 +112,42 @@ public class JwtUtils {
      * @return true if valid, false otherwise
      */
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+
+    /**
+     * Validate a JWT token and return its claims, so callers verify the signature only once.
+     *
+     * @param authToken the token to validate
+     * @return the token claims, or null if the token is invalid
+     */
+    public Claims getValidatedClaims(String authToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            outcome = "valid";
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            outcome = "expired";
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("jwt.verification")
+                    .description("Time spent verifying JWT signatures and claims")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
 
-        return false;
+        return null;
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.microservices.authservice.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microservices.authservice.config.UserCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of UserDetails used to authenticate JWT requests
+ * without querying the users and roles tables on every call.
+ * Login still goes through {@link UserDetailsServiceImpl} directly so credentials are always checked
+ * against the database.
+ */
+@Component
+public class UserDetailsCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    private final UserCacheConfig cacheConfig;
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(UserDetailsServiceImpl userDetailsService,
+                            UserCacheConfig cacheConfig,
+                            MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.cacheConfig = cacheConfig;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(cacheConfig.getTtlMs()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    /**
+     * Load user details by username, using the cached entry when present.
+     *
+     * @param username the username to search for
+     * @return UserDetails instance
+     * @throws UsernameNotFoundException if user not found
+     */
+    public UserDetails getByUsername(String username) throws UsernameNotFoundException {
+        if (!cacheConfig.isEnabled()) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evict a user from the cache. When called inside a transaction the entry is evicted again
+     * after commit, so a concurrent request cannot re-cache the pre-update state.
+     *
+     * @param username the username to evict
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.invalidate(username);
+        logger.debug("Evicted cached user details for {}", username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evict all cached users.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
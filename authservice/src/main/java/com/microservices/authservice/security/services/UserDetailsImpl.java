@@ -25,6 +25,7 @@ public class UserDetailsImpl implements UserDetails {
     private Long id;
     private String username;
     private String email;
+    private String department;
 
     @JsonIgnore
     private String password;
@@ -46,6 +47,7 @@ public class UserDetailsImpl implements UserDetails {
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
+                user.getDepartment(),
                 user.getPassword(),
                 authorities);
     }
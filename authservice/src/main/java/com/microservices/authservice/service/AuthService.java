@@ -13,6 +13,7 @@ import com.microservices.authservice.repository.RoleRepository;
 import com.microservices.authservice.repository.UserRepository;
 import com.microservices.authservice.security.jwt.JwtUtils;
 import com.microservices.authservice.security.services.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -57,6 +58,7 @@ public class AuthService {
      * @param loginRequest login credentials
      * @return JWT response with tokens and user information
      */
+    @Timed(value = "auth.login", histogram = true)
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
@@ -89,6 +91,7 @@ public class AuthService {
      * @return response message
      */
     @Transactional
+    @Timed(value = "auth.register", histogram = true)
     public MessageResponse registerUser(SignupRequest signupRequest) {
         // Check if username already exists
         if (userRepository.existsByUsername(signupRequest.getUsername())) {
@@ -130,6 +133,7 @@ public class AuthService {
             });
         }
 
+        user.setDepartment(signupRequest.getDepartment());
         user.setRoles(roles);
         userRepository.save(user);
 
@@ -142,15 +146,16 @@ public class AuthService {
      * @param requestRefreshToken the refresh token
      * @return JWT response with new access token
      */
+    @Timed(value = "auth.refresh", histogram = true)
     public JwtResponse refreshToken(String requestRefreshToken) {
         return refreshTokenService.findByToken(requestRefreshToken)
                 .map(refreshTokenService::verifyExpiration)
                 .map(RefreshToken::getUser)
                 .map(user -> {
-                    String token = jwtUtils.generateTokenFromUsername(user.getUsername());
-
                     UserDetailsImpl userDetails = UserDetailsImpl.build(user);
 
+                    String token = jwtUtils.generateTokenFromUserDetails(userDetails);
+
                     List<String> roles = userDetails.getAuthorities().stream()
                             .map(item -> item.getAuthority())
                             .collect(Collectors.toList());
@@ -1,12 +1,12 @@
 package com.microservices.authservice.service;
 
+import com.microservices.authservice.config.JwtConfig;
 import com.microservices.authservice.exception.TokenRefreshException;
 import com.microservices.authservice.model.RefreshToken;
 import com.microservices.authservice.model.User;
 import com.microservices.authservice.repository.RefreshTokenRepository;
 import com.microservices.authservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,8 +20,8 @@ import java.util.UUID;
 @Service
 public class RefreshTokenService {
 
-    @Value("${app.jwt.refresh-expiration-ms}")
-    private long refreshTokenDurationMs;
+    @Autowired
+    private JwtConfig jwtConfig;
 
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
@@ -50,7 +50,7 @@ public class RefreshTokenService {
 
         refreshToken.setUser(userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
+        refreshToken.setExpiryDate(Instant.now().plusMillis(jwtConfig.getRefreshExpirationMs()));
         refreshToken.setToken(UUID.randomUUID().toString());
 
         // Check if user already has a refresh token
@@ -10,6 +10,7 @@ import com.microservices.authservice.model.Role;
 import com.microservices.authservice.model.User;
 import com.microservices.authservice.repository.RoleRepository;
 import com.microservices.authservice.repository.UserRepository;
+import com.microservices.authservice.security.services.UserDetailsCache;
 import com.microservices.authservice.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -41,6 +42,9 @@ public class UserService {
     @Autowired
     private RefreshTokenService refreshTokenService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     /**
      * Get all users.
      *
@@ -76,6 +80,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
+        // Cached details are keyed by the username the token was issued for
+        userDetailsCache.evict(user.getUsername());
+
         // Update username if provided
         if (StringUtils.hasText(updateRequest.getUsername())
                 && !user.getUsername().equals(updateRequest.getUsername())) {
@@ -96,6 +103,11 @@ public class UserService {
             user.setEmail(updateRequest.getEmail());
         }
 
+        // Update department if provided
+        if (updateRequest.getDepartment() != null) {
+            user.setDepartment(StringUtils.hasText(updateRequest.getDepartment()) ? updateRequest.getDepartment() : null);
+        }
+
         // Update password if provided
         if (StringUtils.hasText(updateRequest.getPassword())) {
             user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
@@ -151,6 +163,7 @@ public class UserService {
 
         // Then delete the user
         userRepository.delete(user);
+        userDetailsCache.evict(user.getUsername());
 
         return new MessageResponse("User deleted successfully");
     }
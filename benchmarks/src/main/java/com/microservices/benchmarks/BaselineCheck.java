@@ -0,0 +1,86 @@
+package com.microservices.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and exits non-zero when a
+ * benchmark got slower than the tolerance allows.
+ *
+ * <pre>java -cp target/benchmarks.jar com.microservices.benchmarks.BaselineCheck baseline/jmh-baseline.json target/jmh-result.json [tolerance]</pre>
+ */
+public class BaselineCheck {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <result.json> [tolerance, default 0.25]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> results = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.printf("NEW         %s%n", entry.getKey());
+                continue;
+            }
+
+            JsonNode actual = entry.getValue();
+            double base = expected.path("primaryMetric").path("score").asDouble();
+            double score = actual.path("primaryMetric").path("score").asDouble();
+            double error = actual.path("primaryMetric").path("scoreError").asDouble();
+            if (Double.isNaN(error)) {
+                error = 0;
+            }
+            // Throughput is better when higher, every time-based mode when lower
+            boolean higherIsBetter = "thrpt".equals(actual.path("mode").asText());
+            double change = higherIsBetter ? (base - score) / base : (score - base) / base;
+            // Only count it when the slowdown holds even at the edge of the error interval
+            double bestCase = higherIsBetter ? score + error : score - error;
+            boolean regressed = higherIsBetter
+                    ? bestCase < base * (1 - tolerance)
+                    : bestCase > base * (1 + tolerance);
+
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-11s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSION" : "ok",
+                    entry.getKey(), base, score, actual.path("primaryMetric").path("scoreUnit").asText(), change * 100);
+        }
+
+        for (String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                System.out.printf("MISSING     %s%n", name);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                name.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byName.put(name.toString(), run);
+        }
+        return byName;
+    }
+}
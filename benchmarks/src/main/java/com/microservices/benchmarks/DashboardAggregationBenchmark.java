@@ -0,0 +1,86 @@
+package com.microservices.benchmarks;
+
+import com.apisvn.config.SvnBackupConfig;
+import com.apisvn.controller.DashboardController;
+import com.apisvn.repository.BackupRepository;
+import com.apisvn.repository.BackupScheduleRepository;
+import com.apisvn.repository.GitMigrationRepository;
+import com.apisvn.repository.RepositoryRepository;
+import com.apisvn.repository.UserRepository;
+import com.apisvn.service.BackupScheduleService;
+import com.apisvn.service.BackupService;
+import com.apisvn.service.GitMigrationService;
+import com.apisvn.service.RepositoryService;
+import com.apisvn.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory stream aggregations behind the apisvn dashboard endpoints. Repositories return
+ * preloaded entities, so the database round trip is left out and only the aggregation is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private DashboardController controller;
+
+    @Setup
+    public void setUp() {
+        SvnFixture fixture = new SvnFixture(size);
+
+        UserRepository userRepository = SvnFixture.repository(UserRepository.class,
+                Map.of("findAll", fixture.users));
+        RepositoryRepository repositoryRepository = SvnFixture.repository(RepositoryRepository.class,
+                Map.of("findAll", fixture.repositories));
+        GitMigrationRepository migrationRepository = SvnFixture.repository(GitMigrationRepository.class,
+                Map.of("findAll", fixture.migrations));
+        BackupRepository backupRepository = SvnFixture.repository(BackupRepository.class,
+                Map.of("findAll", fixture.backups, "findLastFullBackup", fixture.backups.subList(0, 1)));
+        BackupScheduleRepository scheduleRepository = SvnFixture.repository(BackupScheduleRepository.class,
+                Map.of("findNextScheduledBackup", List.of()));
+
+        controller = new DashboardController(
+                new UserService(userRepository),
+                new RepositoryService(repositoryRepository, userRepository),
+                new GitMigrationService(migrationRepository, repositoryRepository),
+                new BackupService(backupRepository, repositoryRepository, null, null, null, null,
+                        new SvnBackupConfig(), null),
+                new BackupScheduleService(scheduleRepository, repositoryRepository));
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboardMetrics() {
+        return controller.getDashboardMetrics().getBody();
+    }
+
+    @Benchmark
+    public Map<String, Object> migrationProgress() {
+        return controller.getMigrationProgress().getBody();
+    }
+
+    @Benchmark
+    public Map<String, Object> backupSummary() {
+        return controller.getBackupSummary().getBody();
+    }
+}
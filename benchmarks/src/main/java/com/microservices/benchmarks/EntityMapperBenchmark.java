@@ -0,0 +1,63 @@
+package com.microservices.benchmarks;
+
+import com.apisvn.dto.RepositoryDTO;
+import com.apisvn.dto.UserDTO;
+import com.apisvn.model.Repository;
+import com.apisvn.model.User;
+import com.apisvn.util.EntityDTOMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping used by the apisvn list endpoints. {@code formatTimeAgo} is private,
+ * so it is measured through {@code toUserDTO}, where it is most of the work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EntityMapperBenchmark {
+    private final EntityDTOMapper mapper = new EntityDTOMapper();
+
+    private List<Repository> repositories;
+    private List<User> users;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SvnFixture fixture = new SvnFixture(1000);
+        repositories = fixture.repositories;
+        users = fixture.users;
+    }
+
+    @Benchmark
+    public RepositoryDTO toRepositoryDTO() {
+        next = (next + 1) % repositories.size();
+        return mapper.toRepositoryDTO(repositories.get(next));
+    }
+
+    @Benchmark
+    public UserDTO toUserDTO() {
+        next = (next + 1) % users.size();
+        return mapper.toUserDTO(users.get(next));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<RepositoryDTO> mapRepositoryList() {
+        return mapper.mapList(repositories, mapper::toRepositoryDTO);
+    }
+}
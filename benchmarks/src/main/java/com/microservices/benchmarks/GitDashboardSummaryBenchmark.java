@@ -0,0 +1,140 @@
+package com.microservices.benchmarks;
+
+import com.gitdashboard.repository.GitRepositoryRepository;
+import com.microservices.common.jdbc.BulkInsert;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GitDashboard summary counts: the six queries it used to run against the single UNION ALL query of
+ * {@link GitRepositoryRepository#dashboardSummaryCounts()}, read from the repository so the real query
+ * is measured. H2 runs as a loopback TCP server, so every query pays a round trip as it does against
+ * MySQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GitDashboardSummaryBenchmark {
+    private static final String[] ROLES = {"DEVELOPER", "REVIEWER", "TESTER", "ADMIN"};
+    private static final String[] DEPARTMENTS = {"Engineering", "QA", "DevOps", "Research", "Support",
+            "Security", "Data", "Mobile", "Web", "Platform"};
+
+    // The queries getDashboardSummary ran before, as Hibernate renders them
+    private static final List<String> SEPARATE_QUERIES = List.of(
+            "SELECT COUNT(*) FROM git_users",
+            "SELECT COUNT(*) FROM git_repositories",
+            "SELECT COUNT(*) FROM git_backups WHERE backup_status = 'COMPLETE'",
+            "SELECT role, COUNT(*) FROM git_users GROUP BY role",
+            "SELECT department, COUNT(*) FROM git_repositories GROUP BY department",
+            "SELECT backup_status, COUNT(*) FROM git_backups GROUP BY backup_status");
+
+    @Param({"50000"})
+    private int repositories;
+
+    private Server server;
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+    private String summaryQuery;
+
+    @Setup
+    public void setUp() throws Exception {
+        summaryQuery = GitRepositoryRepository.class.getMethod("dashboardSummaryCounts")
+                .getAnnotation(Query.class).value();
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        // H2 would otherwise hand back the cached result of an unchanged query, which MySQL 8 does not
+        connection = DriverManager.getConnection(
+                "jdbc:h2:tcp://127.0.0.1:" + port + "/mem:git;MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+        jdbcTemplate.execute("CREATE TABLE git_users (id BIGINT PRIMARY KEY, employee_id VARCHAR(255), "
+                + "username VARCHAR(255), group_name VARCHAR(255), role VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE git_repositories (id BIGINT PRIMARY KEY, project_name VARCHAR(255), "
+                + "department VARCHAR(255), git_url VARCHAR(255), created_by BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE git_backups (id BIGINT PRIMARY KEY, repository_id BIGINT, "
+                + "backup_status VARCHAR(255))");
+
+        // The data generator's proportions: a user per ten repositories, 90% of repositories backed up
+        SplittableRandom random = new SplittableRandom(42);
+        int users = Math.max(1, repositories / 10);
+        try (BulkInsert insert = new BulkInsert(jdbcTemplate, "git_users",
+                List.of("id", "employee_id", "username", "group_name", "role"), 500)) {
+            for (int i = 1; i <= users; i++) {
+                insert.add(i, "EMPG" + i, "user" + i, "group" + i % 20, ROLES[random.nextInt(ROLES.length)]);
+            }
+        }
+        try (BulkInsert insert = new BulkInsert(jdbcTemplate, "git_repositories",
+                List.of("id", "project_name", "department", "git_url", "created_by"), 500)) {
+            for (int i = 1; i <= repositories; i++) {
+                insert.add(i, "project-" + i, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                        "https://git.example.com/project-" + i + ".git", 1 + random.nextInt(users));
+            }
+        }
+        try (BulkInsert insert = new BulkInsert(jdbcTemplate, "git_backups",
+                List.of("id", "repository_id", "backup_status"), 500)) {
+            for (int i = 1; i <= repositories * 9 / 10; i++) {
+                insert.add(i, i, random.nextInt(10) < 8 ? "COMPLETE" : "PENDING");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<Object[]> separateQueries() {
+        List<Object[]> rows = new ArrayList<>();
+        for (String query : SEPARATE_QUERIES) {
+            rows.addAll(rows(query));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<Object[]> singleQuery() {
+        return rows(summaryQuery);
+    }
+
+    private List<Object[]> rows(String query) {
+        return jdbcTemplate.query(query, (rs, rowNum) -> {
+            int columns = rs.getMetaData().getColumnCount();
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        });
+    }
+}
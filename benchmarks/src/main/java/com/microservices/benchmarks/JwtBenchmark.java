@@ -0,0 +1,95 @@
+package com.microservices.benchmarks;
+
+import com.apisvn.config.JwtUtils;
+import com.microservices.apigateway.config.JwtUtil;
+import com.microservices.common.security.JwksKeyResolver;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done on every request by the gateway filter and the apisvn filter.
+ * Keys are already cached, so this measures RS256 verification and claims parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtFixture fixture;
+    private JwtUtil gatewayJwt;
+    private JwtUtils svnJwt;
+
+    private String validToken;
+    private String expiredToken;
+    private String forgedToken;
+    private Claims validClaims;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new JwtFixture();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        gatewayJwt = new JwtUtil(fixture.configure(new JwksKeyResolver()), registry);
+        svnJwt = new JwtUtils(fixture.configure(new JwksKeyResolver()), registry);
+
+        validToken = fixture.validToken();
+        expiredToken = fixture.expiredToken();
+        forgedToken = fixture.forgedToken();
+
+        // Loads the JWK set, so no fetch happens while measuring
+        gatewayJwt.extractAllClaims(validToken);
+        validClaims = svnJwt.getValidatedClaims(validToken);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Claims gatewayExtractAllClaims() {
+        return gatewayJwt.extractAllClaims(validToken);
+    }
+
+    @Benchmark
+    public boolean gatewayValidateToken() {
+        return gatewayJwt.validateToken(validToken);
+    }
+
+    @Benchmark
+    public boolean gatewayValidateExpiredToken() {
+        return gatewayJwt.validateToken(expiredToken);
+    }
+
+    @Benchmark
+    public boolean gatewayValidateForgedToken() {
+        return gatewayJwt.validateToken(forgedToken);
+    }
+
+    @Benchmark
+    public Claims svnGetValidatedClaims() {
+        return svnJwt.getValidatedClaims(validToken);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> svnAuthoritiesFromClaims() {
+        return svnJwt.getAuthoritiesFromClaims(validClaims);
+    }
+}
@@ -0,0 +1,119 @@
+package com.microservices.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * RSA key pair, signed tokens and a loopback JWKS endpoint, so the real key resolvers load
+ * their keys the same way they do against the Auth Service.
+ */
+public class JwtFixture implements AutoCloseable {
+    static final String KEY_ID = "bench-key";
+
+    private final KeyPair signingKeys;
+    private final KeyPair otherKeys;
+    private final HttpServer server;
+
+    public JwtFixture() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        signingKeys = generator.generateKeyPair();
+        otherKeys = generator.generateKeyPair();
+
+        byte[] jwks = jwks((RSAPublicKey) signingKeys.getPublic()).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        server.start();
+    }
+
+    public String jwksUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json";
+    }
+
+    public String validToken() {
+        return token(signingKeys, new Date(System.currentTimeMillis() + 3_600_000));
+    }
+
+    public String expiredToken() {
+        return token(signingKeys, new Date(System.currentTimeMillis() - 60_000));
+    }
+
+    /**
+     * Token carrying the right key id but signed with a different key.
+     */
+    public String forgedToken() {
+        return token(otherKeys, new Date(System.currentTimeMillis() + 3_600_000));
+    }
+
+    private static String token(KeyPair keys, Date expiration) {
+        return Jwts.builder()
+                .setSubject("bench-user")
+                .claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .claim("department", "Engineering")
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .setHeaderParam("kid", KEY_ID)
+                .signWith(keys.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String jwks(RSAPublicKey key) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"" + KEY_ID + "\",\"alg\":\"RS256\",\"use\":\"sig\","
+                + "\"n\":\"" + encoder.encodeToString(unsigned(key.getModulus().toByteArray())) + "\","
+                + "\"e\":\"" + encoder.encodeToString(unsigned(key.getPublicExponent().toByteArray())) + "\"}]}";
+    }
+
+    private static byte[] unsigned(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            return trimmed;
+        }
+        return bytes;
+    }
+
+    /**
+     * Sets the resolver's {@code @Value} fields the way Spring would and loads the JWK set, as the
+     * resolver does once the application is ready. The gateway's resolver never fetches while
+     * resolving a key, so without this every token would be rejected.
+     */
+    public <T> T configure(T resolver) throws ReflectiveOperationException {
+        set(resolver, "jwksUri", jwksUri());
+        set(resolver, "refreshMs", 300_000L);
+        Method refresh = resolver.getClass().getDeclaredMethod("refresh");
+        refresh.setAccessible(true);
+        refresh.invoke(resolver);
+        return resolver;
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.microservices.benchmarks;
+
+import com.microservices.authservice.config.PasswordHashingConfig;
+import com.microservices.authservice.exception.PasswordHashingRejectedException;
+import com.microservices.authservice.security.services.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The password check of an authservice login, with more concurrent logins than cores. Compares BCrypt
+ * called directly on every request thread with the {@link BoundedPasswordEncoder} the service uses, which
+ * runs at most one hash per core and rejects the logins its queue cannot hold. A rejected client waits
+ * before its next attempt, as it would after a 503. The logins and rejected counters show how much of the
+ * burst was served; use the numbers per strength to pick {@code app.security.password-hashing.strength}
+ * for the production hardware.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class LoginThroughputBenchmark {
+    private static final String PASSWORD = "loadtest123";
+    private static final long RETRY_DELAY_MS = 100;
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long logins;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            logins = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        // Room for a few waiting logins only, so the burst above the pool size is rejected
+        config.setQueueCapacity(config.getPoolSize());
+        bounded = new BoundedPasswordEncoder(bcrypt, config);
+        hash = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.destroy();
+    }
+
+    @Benchmark
+    public void direct(Outcomes outcomes) {
+        if (bcrypt.matches(PASSWORD, hash)) {
+            outcomes.logins++;
+        }
+    }
+
+    @Benchmark
+    public void bounded(Outcomes outcomes) throws InterruptedException {
+        try {
+            if (bounded.matches(PASSWORD, hash)) {
+                outcomes.logins++;
+            }
+        } catch (PasswordHashingRejectedException e) {
+            outcomes.rejected++;
+            TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS);
+        }
+    }
+}
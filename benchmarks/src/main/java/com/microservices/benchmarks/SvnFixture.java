@@ -0,0 +1,123 @@
+package com.microservices.benchmarks;
+
+import com.apisvn.model.Backup;
+import com.apisvn.model.GitMigration;
+import com.apisvn.model.Repository;
+import com.apisvn.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * apisvn entities with a fixed seed, so every run measures the same data, and in-memory
+ * stand-ins for the Spring Data repositories.
+ */
+public class SvnFixture {
+    private static final String[] USER_STATUSES = {"Active", "Active", "Active", "Inactive", "Locked"};
+    private static final String[] ROLES = {"Admin", "Developer", "Developer", "ReadOnly"};
+    private static final String[] MIGRATION_STATUSES = {"Completed", "In Progress", "Not Started", "Archived"};
+    private static final String[] BACKUP_STATUSES = {"Complete", "Complete", "Complete", "In Progress", "Failed"};
+    private static final String[] VERIFICATION_STATUSES = {"Verified", "Verified", "Failed", "Pending"};
+
+    // Spread over every branch of the "time ago" formatting: minutes, hours, days and older dates
+    private static final int[] AGE_MINUTES = {0, 5, 45, 90, 600, 1500, 5000, 20000, 90000};
+
+    public final List<User> users = new ArrayList<>();
+    public final List<Repository> repositories = new ArrayList<>();
+    public final List<Backup> backups = new ArrayList<>();
+    public final List<GitMigration> migrations = new ArrayList<>();
+
+    public SvnFixture(int size) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        int userCount = Math.max(1, size / 10);
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user" + i);
+            user.setFullName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setRole(pick(random, ROLES));
+            user.setStatus(pick(random, USER_STATUSES));
+            user.setGroup("group" + (i % 8));
+            user.setColorCode("bg-blue-500");
+            user.setInitials("U" + (i % 10));
+            user.setLastActivity(now.minusMinutes(AGE_MINUTES[random.nextInt(AGE_MINUTES.length)]));
+            users.add(user);
+        }
+
+        for (int i = 0; i < size; i++) {
+            Repository repository = new Repository();
+            repository.setId((long) i + 1);
+            repository.setName("project-" + i);
+            repository.setDescription("Repository " + i);
+            repository.setSize((random.nextInt(900) + 100) + " MB");
+            repository.setBackupStatus(pick(random, BACKUP_STATUSES));
+            repository.setMigrationStatus(pick(random, MIGRATION_STATUSES));
+            repository.setMigrationProgress(random.nextInt(101));
+            repository.setColorCode("bg-purple-500");
+            repository.setCreatedDate(now.minusDays(random.nextInt(1000)));
+            repository.setLastCommit(now.minusMinutes(AGE_MINUTES[random.nextInt(AGE_MINUTES.length)]));
+            repository.setLastCommitBy("user" + random.nextInt(userCount));
+            Set<User> members = new HashSet<>();
+            for (int m = random.nextInt(4); m > 0; m--) {
+                members.add(users.get(random.nextInt(userCount)));
+            }
+            repository.setMembers(members);
+            repositories.add(repository);
+
+            Backup backup = new Backup();
+            backup.setId((long) i + 1);
+            backup.setBackupId("BK-" + i);
+            backup.setDate(now.minusHours(i));
+            backup.setType(i % 7 == 0 ? "Full" : "Delta");
+            backup.setStatus(pick(random, BACKUP_STATUSES));
+            backup.setVerificationStatus(pick(random, VERIFICATION_STATUSES));
+            // Older rows only carry the formatted size string
+            if (i % 2 == 0) {
+                backup.setPhysicalSize((long) random.nextInt(1 << 30));
+            }
+            backup.setSize(String.format("%.1f GB", random.nextDouble() * 10));
+            backups.add(backup);
+
+            GitMigration migration = new GitMigration();
+            migration.setId((long) i + 1);
+            migration.setName("project-" + i);
+            migration.setStatus(pick(random, MIGRATION_STATUSES));
+            migration.setProgress(random.nextInt(101));
+            migrations.add(migration);
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Stand-in for a Spring Data repository that answers the named query methods with fixed results.
+     */
+    public static <R> R repository(Class<R> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                default:
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                    }
+                    return results.get(method.getName());
+            }
+        }));
+    }
+}
@@ -0,0 +1,124 @@
+package com.microservices.common.backup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@link ChunkStore}, under {@code backup.store}. Every service sharing a store must use the
+ * same directory, index database and chunk sizes.
+ */
+@ConfigurationProperties(prefix = "backup.store")
+public class BackupStoreConfig {
+    // Root of the content-addressed store; holds chunks and per-backup manifests
+    private String dir = "backup-store";
+
+    // Database holding the chunk reference counts; the service's own datasource if no URL is set
+    private final Index index = new Index();
+
+    // Content-defined chunk bounds in bytes; the average must be a power of two
+    private int minChunkSize = 16 * 1024;
+    private int avgChunkSize = 64 * 1024;
+    private int maxChunkSize = 256 * 1024;
+
+    // Gzip level for new chunks, 1 (fastest) to 9, or 0 to store every chunk uncompressed. Compressed chunks
+    // take less disk but are inflated and checked on the heap when read; uncompressed ones are copied to the
+    // reader with zero-copy transfer, without passing through the heap.
+    private int compressionLevel = 1;
+
+    // Fraction of its size gzip must save for a chunk to be stored compressed. Text such as SVN dumps saves far
+    // more and is compressed; already-compressed data such as Git bundles saves almost nothing and is stored
+    // as is, keeping the zero-copy read. 0 compresses every chunk gzip does not enlarge.
+    private double minCompressionSavings = 0.1;
+
+    // Chunks buffered between the chunking and the compress-and-write stage
+    private int pipelineDepth = 8;
+
+    public static class Index {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public Index getIndex() {
+        return index;
+    }
+
+    public int getMinChunkSize() {
+        return minChunkSize;
+    }
+
+    public void setMinChunkSize(int minChunkSize) {
+        this.minChunkSize = minChunkSize;
+    }
+
+    public int getAvgChunkSize() {
+        return avgChunkSize;
+    }
+
+    public void setAvgChunkSize(int avgChunkSize) {
+        this.avgChunkSize = avgChunkSize;
+    }
+
+    public int getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(int maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public double getMinCompressionSavings() {
+        return minCompressionSavings;
+    }
+
+    public void setMinCompressionSavings(double minCompressionSavings) {
+        this.minCompressionSavings = minCompressionSavings;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+}
@@ -0,0 +1,118 @@
+package com.microservices.common.backup;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reference counts of the stored chunks, in the {@code backup_chunks} table. Every change is a single
+ * conditional statement or a short transaction holding the chunk's row lock, so any number of processes can
+ * share the table. Connections are taken from the datasource directly, never from a caller's transaction:
+ * a count must be visible to the other writers as soon as it changes.
+ */
+class ChunkIndex {
+
+    private final DataSource dataSource;
+
+    /**
+     * Work on a chunk's files, done while its row is locked.
+     */
+    interface ChunkFiles {
+        void run() throws IOException;
+    }
+
+    ChunkIndex(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Same columns as the tables the services created with Hibernate before the store was shared
+    void createTable() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS backup_chunks (id VARCHAR(64) NOT NULL PRIMARY KEY, "
+                    + "size BIGINT NOT NULL, ref_count BIGINT NOT NULL)");
+        }
+    }
+
+    /**
+     * Add a reference to a stored chunk. False if the chunk is not stored; the update waits for a release
+     * holding the row, so a chunk is never referenced while its files are being deleted.
+     */
+    boolean addRef(String id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE backup_chunks SET ref_count = ref_count + 1 WHERE id = ?")) {
+            update.setString(1, id);
+            return update.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Record a new chunk with one reference and run {@code write} before the insert commits, so writers of the
+     * same chunk wait on the new row and then reference it. False, with nothing written, if another writer
+     * recorded the chunk first.
+     */
+    boolean insert(String id, long size, ChunkFiles write) throws SQLException, IOException {
+        try {
+            inTransaction(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO backup_chunks (id, size, ref_count) VALUES (?, ?, 1)")) {
+                    insert.setString(1, id);
+                    insert.setLong(2, size);
+                    insert.executeUpdate();
+                }
+                write.run();
+            });
+            return true;
+        } catch (SQLException e) {
+            // Integrity constraint violation class, the duplicate key on MySQL and H2
+            if (e.getSQLState() != null && e.getSQLState().startsWith("23")) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop a reference. When it was the last one the row is deleted and {@code delete} runs before the
+     * transaction commits, while the row lock still holds back writers of the same chunk.
+     */
+    void release(String id, ChunkFiles delete) throws SQLException, IOException {
+        inTransaction(connection -> {
+            try (PreparedStatement decrement = connection.prepareStatement(
+                         "UPDATE backup_chunks SET ref_count = ref_count - 1 WHERE id = ?");
+                 PreparedStatement unreferenced = connection.prepareStatement(
+                         "DELETE FROM backup_chunks WHERE id = ? AND ref_count <= 0")) {
+                decrement.setString(1, id);
+                decrement.executeUpdate();
+                unreferenced.setString(1, id);
+                if (unreferenced.executeUpdate() > 0) {
+                    delete.run();
+                }
+            }
+        });
+    }
+
+    private interface Work {
+        void run(Connection connection) throws SQLException, IOException;
+    }
+
+    private void inTransaction(Work work) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                work.run(connection);
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
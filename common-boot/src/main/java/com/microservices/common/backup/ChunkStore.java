@@ -0,0 +1,476 @@
+package com.microservices.common.backup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed, deduplicating backup store. Streams are split into content-defined chunks with a gear
+ * rolling hash, so identical data produces identical chunks even when it sits at different offsets. Each chunk
+ * is stored once under its SHA-256 and reference counted in {@code backup_chunks}; a backup is a manifest
+ * listing its chunks in order. Chunks are gzip-compressed after dedup, so identical content still shares a chunk,
+ * and kept uncompressed when gzip does not save {@code backup.store.min-compression-savings} of their size.
+ * <p>
+ * apisvn and GitDashboard share one store, so an SVN dump and a Git bundle of the same files share chunks. Any
+ * number of instances may use it, as long as they see the same directory and the same {@code backup_chunks}
+ * table ({@code backup.store.index}): reference counts only change in the database, under the chunk's row lock,
+ * and manifests are claimed with an atomic rename before their chunks are released. Services register it with
+ * {@code @Import} together with {@link BackupStoreConfig}.
+ */
+public class ChunkStore implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkStore.class);
+
+    // Fixed gear table; changing it changes every chunk boundary and defeats dedup against existing chunks
+    private static final long[] GEAR = gearTable();
+
+    private final BackupStoreConfig config;
+    private final ChunkIndex index;
+    // A pool of its own when backup.store.index points at a separate database, closed with the store
+    private final DataSource ownDataSource;
+    private final long boundaryMask;
+    private final AtomicInteger writerThreads = new AtomicInteger();
+    private final ExecutorService writerPool = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "chunk-writer-" + writerThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ChunkStore(BackupStoreConfig config, DataSource dataSource) throws SQLException {
+        this.config = config;
+        BackupStoreConfig.Index indexConfig = config.getIndex();
+        this.ownDataSource = indexConfig.getUrl() == null ? null : DataSourceBuilder.create()
+                .url(indexConfig.getUrl())
+                .username(indexConfig.getUsername())
+                .password(indexConfig.getPassword())
+                .build();
+        this.index = new ChunkIndex(ownDataSource != null ? ownDataSource : dataSource);
+        index.createTable();
+        // Test the high bits of the hash; with a left-shifting gear hash they depend on the most input bytes
+        int bits = Integer.numberOfTrailingZeros(Integer.highestOneBit(config.getAvgChunkSize()));
+        this.boundaryMask = ((1L << bits) - 1) << (64 - bits);
+    }
+
+    /**
+     * Summary of a stored stream. {@code newSize} counts the bytes of chunks the store did not already hold and
+     * {@code physicalSize} what they take on disk after compression.
+     */
+    public record StoredObject(String manifest, long logicalSize, long newSize, long physicalSize, int chunkCount,
+                               String sha256, long elapsedMs) {
+
+        public double throughputMBps() {
+            return elapsedMs > 0 ? logicalSize / 1024.0 / 1024.0 / (elapsedMs / 1000.0) : 0;
+        }
+
+        // Logical bytes per byte written, combining dedup and compression
+        public double reductionRatio() {
+            return physicalSize > 0 ? (double) logicalSize / physicalSize : 0;
+        }
+    }
+
+    /**
+     * Chunk and store a stream under the manifest name {@code name}, e.g. {@code svn/trunk/BKP-2001} or
+     * {@code git/42/20250101-020000-000-full}.
+     * <p>
+     * Chunking runs on the calling thread; compression and writes run on a second stage, fed through a queue of
+     * {@code backup.store.pipeline-depth} chunks. Memory use is bounded by the chunk size and queue depth,
+     * whatever the stream length.
+     */
+    public StoredObject put(String name, InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        MessageDigest whole = sha256();
+        List<String> entries = new ArrayList<>();
+        long logicalSize = 0;
+
+        BlockingQueue<PendingChunk> queue = new ArrayBlockingQueue<>(config.getPipelineDepth());
+        ChunkWriter writer = new ChunkWriter(queue);
+        Future<?> writerTask = writerPool.submit(writer);
+
+        try {
+            byte[] buffer = new byte[config.getMaxChunkSize()];
+            int filled = 0;
+            boolean eof = false;
+            while (true) {
+                while (!eof && filled < buffer.length) {
+                    int read = in.read(buffer, filled, buffer.length - filled);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        filled += read;
+                    }
+                }
+                if (filled == 0) {
+                    break;
+                }
+
+                int cut = cutPoint(buffer, filled);
+                whole.update(buffer, 0, cut);
+                MessageDigest chunkDigest = sha256();
+                chunkDigest.update(buffer, 0, cut);
+                String id = HexFormat.of().formatHex(chunkDigest.digest());
+                enqueue(queue, new PendingChunk(id, Arrays.copyOf(buffer, cut)), writerTask);
+                logicalSize += cut;
+                entries.add(id + " " + cut);
+
+                System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+                filled -= cut;
+            }
+            enqueue(queue, END_OF_STREAM, writerTask);
+            writerTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(writerTask, writer);
+            throw new IOException("Storing " + name + " was interrupted", e);
+        } catch (ExecutionException e) {
+            abort(writerTask, writer);
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort(writerTask, writer);
+            throw e;
+        }
+
+        String sha = HexFormat.of().formatHex(whole.digest());
+        Path manifest = manifestPath(name);
+        Files.createDirectories(manifest.getParent());
+        Path tmp = Files.createTempFile(manifest.getParent(), "manifest", ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("# " + sha + " " + logicalSize);
+            out.newLine();
+            for (String entry : entries) {
+                out.write(entry);
+                out.newLine();
+            }
+        }
+        // An object stored under the same name before is replaced, so its chunks are released; after the
+        // move, so chunks shared with the new object are never unreferenced in between. Readers of the name
+        // find no manifest between the claim and the move.
+        Path replaced = claim(manifest);
+        Files.move(tmp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (replaced != null) {
+            releaseAll(replaced);
+        }
+
+        return new StoredObject(name, logicalSize, writer.newSize, writer.physicalSize, entries.size(), sha,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Write the content of a stored object to {@code out}. Uncompressed chunks are copied with
+     * {@link FileChannel#transferTo} and not read into the heap; compressed chunks are inflated and verified.
+     */
+    public void read(String name, WritableByteChannel out) throws IOException {
+        for (String id : chunkIds(name)) {
+            Path compressed = chunkPath(id, true);
+            if (Files.exists(compressed)) {
+                MessageDigest digest = sha256();
+                try (InputStream in = new DigestInputStream(new GZIPInputStream(Files.newInputStream(compressed)), digest)) {
+                    OutputStream target = Channels.newOutputStream(out);
+                    in.transferTo(target);
+                    target.flush();
+                }
+                if (!id.equals(HexFormat.of().formatHex(digest.digest()))) {
+                    throw new IOException("Chunk " + id + " of " + name + " is corrupt");
+                }
+            } else {
+                try (FileChannel chunk = FileChannel.open(chunkPath(id, false), StandardOpenOption.READ)) {
+                    long size = chunk.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += chunk.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * SHA-256 of the whole object, as recorded when it was stored.
+     */
+    public String checksum(String name) throws IOException {
+        try (Stream<String> lines = Files.lines(manifestPath(name), StandardCharsets.UTF_8)) {
+            String header = lines.findFirst().orElseThrow(() -> new IOException("Manifest " + name + " is empty"));
+            return header.split(" ")[1];
+        }
+    }
+
+    /**
+     * Drop a stored object; chunks no longer referenced by any manifest are deleted.
+     */
+    public void delete(String name) throws IOException {
+        Path claimed = claim(manifestPath(name));
+        if (claimed != null) {
+            releaseAll(claimed);
+        }
+    }
+
+    /**
+     * Names of the stored objects under {@code prefix}, in name order.
+     */
+    public List<String> list(String prefix) throws IOException {
+        Path dir = root().resolve("manifests").resolve(prefix);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.endsWith(".manifest"))
+                    .map(file -> prefix + "/" + file.substring(0, file.length() - ".manifest".length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        writerPool.shutdownNow();
+        if (ownDataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private record PendingChunk(String id, byte[] data) {
+    }
+
+    private static final PendingChunk END_OF_STREAM = new PendingChunk(null, null);
+
+    /**
+     * Second pipeline stage: deduplicates, compresses and writes the chunks of one stream.
+     */
+    private class ChunkWriter implements Runnable {
+        private final BlockingQueue<PendingChunk> queue;
+        // Chunks referenced so far, released again if the stream fails
+        private final List<String> referenced = Collections.synchronizedList(new ArrayList<>());
+        private long newSize;
+        private long physicalSize;
+
+        ChunkWriter(BlockingQueue<PendingChunk> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (PendingChunk chunk = queue.take(); chunk != END_OF_STREAM; chunk = queue.take()) {
+                    long written = storeChunk(chunk.id(), chunk.data());
+                    referenced.add(chunk.id());
+                    if (written > 0) {
+                        newSize += chunk.data().length;
+                        physicalSize += written;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Hand a chunk to the writer, failing fast if the writer already stopped
+    private static void enqueue(BlockingQueue<PendingChunk> queue, PendingChunk chunk, Future<?> writerTask)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writerTask.isDone()) {
+                writerTask.get();
+                throw new IllegalStateException("Chunk writer stopped before the end of the stream");
+            }
+        }
+    }
+
+    private void abort(Future<?> writerTask, ChunkWriter writer) {
+        writerTask.cancel(true);
+        try {
+            writerTask.get();
+        } catch (Exception ignored) {
+            // Only waiting for the writer to stop
+        }
+        synchronized (writer.referenced) {
+            for (String id : writer.referenced) {
+                try {
+                    release(id);
+                } catch (IOException e) {
+                    logger.warn("Could not release chunk {}: {}", id, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Take a manifest out of the store by renaming it, so only one caller, in this or another instance, releases
+     * its chunks. Null if there is no manifest. A crash before the release leaks references, never loses chunks.
+     */
+    private Path claim(Path manifest) throws IOException {
+        Path claimed = manifest.resolveSibling(manifest.getFileName() + "." + UUID.randomUUID() + ".released");
+        try {
+            Files.move(manifest, claimed, StandardCopyOption.ATOMIC_MOVE);
+            return claimed;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void releaseAll(Path claimedManifest) throws IOException {
+        for (String id : chunkIds(claimedManifest)) {
+            release(id);
+        }
+        Files.delete(claimedManifest);
+    }
+
+    private void release(String id) throws IOException {
+        try {
+            index.release(id, () -> {
+                Files.deleteIfExists(chunkPath(id, true));
+                Files.deleteIfExists(chunkPath(id, false));
+            });
+        } catch (SQLException e) {
+            throw new IOException("Could not release chunk " + id, e);
+        }
+    }
+
+    // Bytes written to disk, or 0 if the chunk was already stored
+    private long storeChunk(String id, byte[] data) throws IOException {
+        try {
+            while (!index.addRef(id)) {
+                // Not stored yet. Only one insert wins; writers that lose reference its chunk on the next pass.
+                byte[] compressed = compress(data);
+                byte[] stored = compressed != null ? compressed : data;
+                Path file = chunkPath(id, compressed != null);
+                if (index.insert(id, data.length, () -> writeChunk(file, stored))) {
+                    return stored.length;
+                }
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new IOException("Could not store chunk " + id, e);
+        }
+    }
+
+    private void writeChunk(Path file, byte[] bytes) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // The gzip form of a chunk, or null if it is not worth the inflating and the lost zero-copy read.
+    // Already-compressed input, such as the pack data of a Git bundle, typically shrinks by a percent or two.
+    private byte[] compress(byte[] data) throws IOException {
+        if (config.getCompressionLevel() == 0) {
+            return null;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 2);
+        try (OutputStream out = new GZIPOutputStream(buffer, 64 * 1024) {
+            {
+                def.setLevel(config.getCompressionLevel());
+            }
+        }) {
+            out.write(data);
+        }
+        return buffer.size() <= data.length * (1 - config.getMinCompressionSavings()) ? buffer.toByteArray() : null;
+    }
+
+    // End of the next chunk in buffer[0, length); only the tail of a stream may be shorter than the minimum
+    private int cutPoint(byte[] buffer, int length) {
+        if (length <= config.getMinChunkSize()) {
+            return length;
+        }
+        long hash = 0;
+        for (int i = config.getMinChunkSize(); i < length; i++) {
+            hash = (hash << 1) + GEAR[buffer[i] & 0xff];
+            if ((hash & boundaryMask) == 0) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    private List<String> chunkIds(String name) throws IOException {
+        return chunkIds(manifestPath(name));
+    }
+
+    private List<String> chunkIds(Path manifest) throws IOException {
+        try (Stream<String> lines = Files.lines(manifest, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.startsWith("#") && !line.isBlank())
+                    .map(line -> line.substring(0, line.indexOf(' ')))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path root() {
+        return Paths.get(config.getDir()).toAbsolutePath();
+    }
+
+    private Path manifestPath(String name) {
+        return root().resolve("manifests").resolve(name + ".manifest");
+    }
+
+    private Path chunkPath(String id, boolean compressed) {
+        return root().resolve("chunks").resolve(id.substring(0, 2)).resolve(compressed ? id + ".gz" : id);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // SplitMix64 sequence from a fixed seed
+    private static long[] gearTable() {
+        long[] table = new long[256];
+        long state = 0x5DEECE66DL;
+        for (int i = 0; i < table.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            table[i] = z ^ (z >>> 31);
+        }
+        return table;
+    }
+}
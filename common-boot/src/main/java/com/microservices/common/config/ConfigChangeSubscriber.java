@@ -0,0 +1,156 @@
+package com.microservices.common.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Subscribes to the config server's change events and reloads the environment when one names this
+ * application, instead of waiting for a {@code /refresh} call. The reload computes which keys changed
+ * and only the configuration properties beans under them are rebound, see
+ * {@link SelectiveConfigurationPropertiesRebinder}; the refresh scope is left alone, so requests are
+ * not held up. Runs on its own thread and reconnects after {@code config-events.reconnect-ms},
+ * reloading once in case a change was missed meanwhile. Services that take pushed changes import it
+ * together with the rebinder on their application class.
+ */
+public class ConfigChangeSubscriber {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeSubscriber.class);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Absent when the refresh support is disabled, as in the AOT builds
+    @Autowired
+    private ObjectProvider<ContextRefresher> contextRefresher;
+
+    @Value("${spring.application.name}")
+    private String application;
+
+    @Value("${spring.cloud.config.uri:http://localhost:8888}")
+    private List<String> configServerUris;
+
+    @Value("${config-events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${config-events.reconnect-ms:5000}")
+    private long reconnectMs;
+
+    private volatile boolean running;
+
+    private volatile Stream<String> events;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ContextRefresher refresher = contextRefresher.getIfAvailable();
+        if (!enabled || refresher == null) {
+            logger.info("Not subscribing to configuration changes; refresh with a restart");
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(() -> subscribe(refresher), "config-changes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Stream<String> current = events;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void subscribe(ContextRefresher refresher) {
+        boolean missedChanges = false;
+        for (int attempt = 0; running; attempt++) {
+            String uri = configServerUris.get(attempt % configServerUris.size()).trim().replaceAll("/+$", "");
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(uri + "/changes"))
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    throw new IOException("status " + response.statusCode());
+                }
+                events = response.body();
+                logger.info("Subscribed to configuration changes at {}", uri);
+                if (missedChanges) {
+                    refresh(refresher, "reconnected");
+                }
+                missedChanges = true;
+                try (Stream<String> lines = response.body()) {
+                    lines.filter(line -> line.startsWith("data:"))
+                            .forEach(line -> onChange(refresher, line.substring("data:".length())));
+                }
+                logger.warn("Configuration change events from {} ended", uri);
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    logger.warn("Failed to subscribe to configuration changes at {}: {}", uri, e.toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            sleep();
+        }
+    }
+
+    private void onChange(ContextRefresher refresher, String data) {
+        try {
+            JsonNode event = objectMapper.readTree(data);
+            for (JsonNode change : event.path("changes")) {
+                if (application.equalsIgnoreCase(change.path("application").asText())) {
+                    refresh(refresher, "version " + event.path("version").asText());
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed configuration change event: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(ContextRefresher refresher, String reason) {
+        try {
+            long started = System.nanoTime();
+            Set<String> keys = refresher.refreshEnvironment();
+            logger.info("Reloaded configuration ({}) in {} ms, {} keys changed: {}", reason,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), keys.size(), keys);
+        } catch (RuntimeException e) {
+            // The previous configuration stays in place
+            logger.error("Failed to reload configuration ({}): {}", reason, e.getMessage());
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(reconnectMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.microservices.common.config;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published once the configuration properties beans affected by a change have been rebound, see
+ * {@link SelectiveConfigurationPropertiesRebinder}. Components that derive state from those beans,
+ * such as parsed keys or connection pools, listen for it to rebuild that state; listening for the
+ * environment change itself would race with the rebinding.
+ */
+public class ConfigurationChangedEvent extends ApplicationEvent {
+    private final Set<String> keys;
+
+    private final List<ConfigurationPropertyName> names;
+
+    public ConfigurationChangedEvent(Object source, Set<String> keys) {
+        super(source);
+        this.keys = keys;
+        this.names = keys.stream().map(key -> ConfigurationPropertyName.adapt(key, '.')).toList();
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Whether a changed key is the given property or below it, with relaxed binding, so
+     * {@code affects("app.jwt")} matches {@code app.jwt.expirationMs}.
+     */
+    public boolean affects(String name) {
+        ConfigurationPropertyName prefix = ConfigurationPropertyName.of(name);
+        return names.stream().anyMatch(key -> prefix.equals(key) || prefix.isAncestorOf(key));
+    }
+}
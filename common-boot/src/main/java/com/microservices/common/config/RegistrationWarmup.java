@@ -0,0 +1,77 @@
+package com.microservices.common.config;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Defers the Eureka registration until the service is warm. With
+ * {@code eureka.instance.initial-status: STARTING} (the fast-startup profile) the instance registers as
+ * STARTING, which the gateway does not route to; once the application is ready it serves a round of
+ * requests to itself, initializing the lazily created parts of the request path, and only then switches
+ * to UP. Services register it with {@code @Import} on their application class.
+ */
+public class RegistrationWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationWarmup.class);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    // Absent when the Eureka client is disabled
+    @Autowired(required = false)
+    private ApplicationInfoManager applicationInfoManager;
+
+    @Value("${startup.warmup.paths:/actuator/health}")
+    private List<String> paths;
+
+    @Value("${startup.warmup.requests:20}")
+    private int requests;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (applicationInfoManager == null || applicationInfoManager.getInfo().getStatus() != InstanceStatus.STARTING) {
+            return;
+        }
+        long started = System.nanoTime();
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        int failed = 0;
+        for (int i = 0; i < requests; i++) {
+            for (String path : paths) {
+                if (!get("http://127.0.0.1:" + port + path)) {
+                    failed++;
+                }
+            }
+        }
+        // A failing warm-up must not keep the instance out of the registry for good
+        applicationInfoManager.setInstanceStatus(InstanceStatus.UP);
+        logger.info("Warmed up with {} requests ({} failed) in {} ms, registered as UP",
+                requests * paths.size(), failed, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private boolean get(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservices.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesBeans;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Spring Cloud's rebinder, which rebinds every {@code @ConfigurationProperties} bean on any
+ * environment change. This one rebinds only the beans whose prefix covers a changed key, so changing one
+ * setting leaves the unrelated beans alone, and then publishes {@link ConfigurationChangedEvent}.
+ * Beans are rebound in place; requests keep being served meanwhile. Imported by the application class, so
+ * it is registered before Spring Cloud's auto-configured rebinder, which then backs off.
+ */
+public class SelectiveConfigurationPropertiesRebinder extends ConfigurationPropertiesRebinder {
+    private static final Logger logger = LoggerFactory.getLogger(SelectiveConfigurationPropertiesRebinder.class);
+
+    private final ConfigurationPropertiesBeans beans;
+
+    private ApplicationContext applicationContext;
+
+    public SelectiveConfigurationPropertiesRebinder(ConfigurationPropertiesBeans beans) {
+        super(beans);
+        this.beans = beans;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        super.setApplicationContext(applicationContext);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        // Same check as the rebinder this replaces: changes of this context, or keys set directly
+        if (!applicationContext.equals(event.getSource()) && !event.getKeys().equals(event.getSource())
+                || event.getKeys().isEmpty()) {
+            return;
+        }
+        ConfigurationChangedEvent changed = new ConfigurationChangedEvent(this, event.getKeys());
+        List<String> rebound = new ArrayList<>();
+        for (String name : beans.getBeanNames()) {
+            // From the bean's class or factory method; the bean itself may be wrapped, e.g. the data source
+            ConfigurationProperties annotation = applicationContext.findAnnotationOnBean(name, ConfigurationProperties.class);
+            if (annotation != null && changed.affects(annotation.prefix()) && rebind(name)) {
+                rebound.add(name);
+            }
+        }
+        logger.info("Rebound {} of {} configuration properties beans for {} changed keys: {}", rebound.size(),
+                beans.getBeanNames().size(), event.getKeys().size(), rebound);
+        applicationContext.publishEvent(changed);
+    }
+}
@@ -0,0 +1,71 @@
+package com.microservices.common.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Buffers rows and writes them as multi-row {@code INSERT ... VALUES (...), (...)} statements. Sends far fewer
+ * round trips than one statement per row, and does not rely on the driver rewriting batches
+ * ({@code rewriteBatchedStatements}), so it behaves the same on MySQL and H2.
+ */
+public class BulkInsert implements AutoCloseable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+    private final String rowPlaceholders;
+    private final int rowsPerStatement;
+    private final List<Object> values;
+    private String fullStatement;
+    private int bufferedRows;
+    private long written;
+
+    public BulkInsert(JdbcTemplate jdbcTemplate, String table, List<String> columns, int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        this.rowsPerStatement = rowsPerStatement;
+        this.values = new ArrayList<>(rowsPerStatement * columns.size());
+    }
+
+    public void add(Object... row) {
+        Collections.addAll(values, row);
+        if (++bufferedRows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (bufferedRows == 0) {
+            return;
+        }
+        String sql;
+        if (bufferedRows == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = statement(rowsPerStatement);
+            }
+            sql = fullStatement;
+        } else {
+            sql = statement(bufferedRows);
+        }
+        jdbcTemplate.update(sql, values.toArray());
+        written += bufferedRows;
+        values.clear();
+        bufferedRows = 0;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private String statement(int rows) {
+        return prefix + String.join(", ", Collections.nCopies(rows, rowPlaceholders));
+    }
+}
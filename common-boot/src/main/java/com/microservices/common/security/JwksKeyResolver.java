@@ -0,0 +1,184 @@
+package com.microservices.common.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.common.config.ConfigurationChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves JWT verification keys from the Auth Service JWK set.
+ * Parsed public keys are cached by key id. The set is fetched once the application is ready, and a
+ * stale set is refreshed in the background while the cached keys keep serving. A token with an unknown
+ * key id triggers a fetch, at most once per cooldown; only one fetch runs at a time. By default the token
+ * is rejected right away, as the gateway and supersetEmbed need, which resolve keys on threads that must
+ * not wait for the JWK set endpoint. With {@code jwt.jwks-wait-for-unknown-key} the request waits for that
+ * fetch instead, so the first token signed with a rotated key is accepted. A pushed change of the jwt
+ * settings fetches the set again right away. Services register it with {@code @Import}.
+ */
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeyResolver.class);
+
+    private static final long UNKNOWN_KEY_COOLDOWN_MS = 30000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${jwt.jwks-uri}")
+    private volatile String jwksUri;
+
+    @Value("${jwt.jwks-refresh-ms:300000}")
+    private volatile long refreshMs;
+
+    @Value("${jwt.jwks-wait-for-unknown-key:false}")
+    private boolean waitForUnknownKey;
+
+    private volatile Map<String, Key> keys = Map.of();
+
+    private volatile long lastFetch;
+
+    // The running fetch, shared by every caller that needs one; a future rather than a lock, so a virtual
+    // thread waiting for it does not pin its carrier
+    private final AtomicReference<CompletableFuture<Void>> fetch = new AtomicReference<>();
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        long age = System.currentTimeMillis() - lastFetch;
+
+        Key key = keys.get(keyId);
+        if (key != null) {
+            if (age > refreshMs) {
+                refreshInBackground();
+            }
+            return key;
+        }
+
+        // Unknown key id, e.g. after a rotation: fetch again, but not on every bad token
+        if (age > UNKNOWN_KEY_COOLDOWN_MS) {
+            CompletableFuture<Void> refreshed = refreshInBackground();
+            if (waitForUnknownKey) {
+                await(refreshed);
+                key = keys.get(keyId);
+            }
+        }
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        refreshInBackground();
+    }
+
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (!event.affects("jwt")) {
+            return;
+        }
+        jwksUri = environment.getProperty("jwt.jwks-uri", jwksUri);
+        refreshMs = environment.getProperty("jwt.jwks-refresh-ms", Long.class, refreshMs);
+        // The cached keys keep serving until the set from the new settings has been fetched
+        lastFetch = 0;
+        refreshInBackground();
+    }
+
+    private CompletableFuture<Void> refreshInBackground() {
+        while (true) {
+            CompletableFuture<Void> running = fetch.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            if (fetch.compareAndSet(null, started)) {
+                CompletableFuture.runAsync(this::refresh).whenComplete((result, error) -> {
+                    fetch.set(null);
+                    started.complete(null);
+                });
+                return started;
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> refreshed) {
+        try {
+            // Longer than the connect and request timeouts of the fetch itself
+            refreshed.get(15, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // The fetch logs its own failures; the token is rejected below
+        }
+    }
+
+    // Only ever runs on one background thread at a time, see refreshInBackground
+    private void refresh() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUri))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("JWKS endpoint returned status " + response.statusCode());
+            }
+
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            Map<String, Key> fetched = new HashMap<>();
+            for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText())) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                fetched.put(jwk.path("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+
+            keys = Map.copyOf(fetched);
+            logger.info("Loaded {} JWT verification keys from {}", fetched.size(), jwksUri);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while fetching JWKS from {}", jwksUri);
+        } catch (Exception e) {
+            // Keep serving the previously cached keys
+            logger.error("Failed to fetch JWKS from {}: {}", jwksUri, e.getMessage());
+        } finally {
+            lastFetch = System.currentTimeMillis();
+        }
+    }
+}
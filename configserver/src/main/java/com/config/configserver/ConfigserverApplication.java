@@ -1,13 +1,18 @@
 package com.config.configserver;
 
+import com.microservices.common.config.RegistrationWarmup;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.config.server.EnableConfigServer;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigServer
 @EnableDiscoveryClient
+@EnableScheduling
+@Import(RegistrationWarmup.class)
 public class ConfigserverApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,245 @@
+package com.config.configserver.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.environment.PropertyValueDescriptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Serves rendered environments from memory, keyed by application, profile and label. The first request
+ * for a key renders it from the backend; identical requests arriving meanwhile wait for that rendering
+ * instead of starting their own. {@link #refresh(Predicate)} renders the cached keys again in the
+ * background, so requests never wait for the backend once a key is cached.
+ * <p>
+ * Each label remembers when its working copy was last checked against the remote, by the background
+ * refresh or by a rendering. A key whose label has not been checked for longer than {@code maxAgeMs},
+ * the Git backend's {@code refresh-rate}, is rendered again by the next request, as without the cache.
+ * At most {@code maxEntries} keys are kept; rarely used ones are evicted first.
+ * <p>
+ * Replaces the config server's own repository, see {@link EnvironmentCacheConfiguration}. Failed
+ * renderings are not cached.
+ */
+public class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator {
+    private static final Logger logger = LoggerFactory.getLogger(CachingEnvironmentRepository.class);
+
+    private final SearchPathCompositeEnvironmentRepository delegate;
+
+    private final long maxAgeMs;
+
+    // Completed futures are the cache; pending ones are renderings in progress that callers can join
+    private final AsyncCache<Key, Environment> cache;
+    private final ConcurrentMap<Key, CompletableFuture<Environment>> environments;
+
+    // When each label was last checked against the remote; labels are "" for the default label
+    private final Map<String, Long> checkedAt = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter expired;
+
+    /**
+     * @param maxAgeMs how long a label's environments are served without checking the remote, or 0 to
+     *                 leave that to the background refresh alone
+     */
+    public CachingEnvironmentRepository(SearchPathCompositeEnvironmentRepository delegate, int maxEntries,
+                                        long maxAgeMs, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxAgeMs = maxAgeMs;
+        this.cache = Caffeine.newBuilder().maximumSize(maxEntries).buildAsync();
+        this.environments = cache.asMap();
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        this.expired = requests(meterRegistry, "expired");
+        meterRegistry.gauge("config.environment.cached", this, CachingEnvironmentRepository::size);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("config.environment.requests")
+                .description("Environment requests by whether they were served from the cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        Key key = new Key(application, profile, label, includeOrigin);
+        CompletableFuture<Environment> rendering = new CompletableFuture<>();
+        CompletableFuture<Environment> existing = environments.putIfAbsent(key, rendering);
+        if (existing == null) {
+            misses.increment();
+            render(key, rendering);
+            return copy(await(rendering));
+        }
+        if (existing.isDone() && expired(key.label()) && environments.replace(key, existing, rendering)) {
+            // Not checked against the remote for longer than the refresh rate; the backend fetches
+            expired.increment();
+            render(key, rendering);
+            if (rendering.isCompletedExceptionally()) {
+                // As in a background refresh, the previous environment is served rather than the error
+                environments.putIfAbsent(key, existing);
+                return copy(existing.join());
+            }
+            return copy(await(rendering));
+        }
+        (existing.isDone() ? hits : coalesced).increment();
+        return copy(await(existing));
+    }
+
+    /**
+     * Labels of the cached keys; null stands for the default label.
+     */
+    public Set<String> labels() {
+        Set<String> labels = new HashSet<>();
+        environments.keySet().forEach(key -> labels.add(key.label()));
+        return labels;
+    }
+
+    /**
+     * Records that the working copy of {@code label} was just checked against the remote.
+     */
+    public void checked(String label) {
+        checkedAt.put(labelKey(label), System.currentTimeMillis());
+    }
+
+    /**
+     * Renders the cached keys of the given labels again and replaces the entries whose content changed.
+     * The previous environment keeps being served while the new one is rendered, and stays cached if
+     * rendering fails.
+     *
+     * @return the keys whose environment changed
+     */
+    public List<Key> refresh(Predicate<String> labels) {
+        List<Key> changed = new ArrayList<>();
+        for (Map.Entry<Key, CompletableFuture<Environment>> entry : environments.entrySet()) {
+            CompletableFuture<Environment> cached = entry.getValue();
+            Key key = entry.getKey();
+            if (!cached.isDone() || cached.isCompletedExceptionally() || !labels.test(key.label())) {
+                continue;
+            }
+            try {
+                Environment rendered = delegate.findOne(key.application(), key.profile(), key.label(), key.includeOrigin());
+                if (!sameContent(cached.join(), rendered)
+                        && environments.replace(key, cached, CompletableFuture.completedFuture(rendered))) {
+                    changed.add(key);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh the environment of {}, serving the cached one: {}", key, e.getMessage());
+            }
+        }
+        return changed;
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        return delegate.getLocations(application, profile, label);
+    }
+
+    private boolean expired(String label) {
+        return maxAgeMs > 0 && System.currentTimeMillis() - checkedAt.getOrDefault(labelKey(label), 0L) > maxAgeMs;
+    }
+
+    private static String labelKey(String label) {
+        return label != null ? label : "";
+    }
+
+    private void render(Key key, CompletableFuture<Environment> rendering) {
+        try {
+            // The backend fetches first when its own refresh rate has passed, so the label is current now
+            Environment rendered = delegate.findOne(key.application(), key.profile(), key.label(), key.includeOrigin());
+            checked(key.label());
+            rendering.complete(rendered);
+        } catch (RuntimeException e) {
+            // Callers waiting on it get the same error; the next request tries again
+            environments.remove(key, rendering);
+            rendering.completeExceptionally(e);
+        }
+    }
+
+    private static Environment await(CompletableFuture<Environment> rendering) {
+        try {
+            return rendering.join();
+        } catch (CompletionException e) {
+            // Rethrown as is, so the controller maps e.g. an unknown label to 404 as without the cache
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // The controller adds property sources to what it gets (overrides), so every caller gets its own list
+    private static Environment copy(Environment environment) {
+        Environment copy = new Environment(environment);
+        copy.addAll(environment.getPropertySources());
+        return copy;
+    }
+
+    private static boolean sameContent(Environment a, Environment b) {
+        if (!Objects.equals(a.getVersion(), b.getVersion()) || !Objects.equals(a.getState(), b.getState())
+                || a.getPropertySources().size() != b.getPropertySources().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getPropertySources().size(); i++) {
+            PropertySource first = a.getPropertySources().get(i);
+            PropertySource second = b.getPropertySources().get(i);
+            if (!first.getName().equals(second.getName()) || !sameSource(first.getSource(), second.getSource())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // With includeOrigin the values are descriptors, which have no equals of their own
+    private static boolean sameSource(Map<?, ?> a, Map<?, ?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : a.entrySet()) {
+            Object first = entry.getValue();
+            Object second = b.get(entry.getKey());
+            if (first instanceof PropertyValueDescriptor descriptor && second instanceof PropertyValueDescriptor other) {
+                if (!Objects.equals(descriptor.getValue(), other.getValue())
+                        || !Objects.equals(descriptor.getOrigin(), other.getOrigin())) {
+                    return false;
+                }
+            } else if (!Objects.equals(first, second)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record Key(String application, String profile, String label, boolean includeOrigin) {
+    }
+}
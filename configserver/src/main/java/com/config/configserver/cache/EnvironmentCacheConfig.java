@@ -0,0 +1,54 @@
+package com.config.configserver.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the rendered environment cache.
+ * Maps application.yml properties under the 'config-cache' prefix to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "config-cache")
+public class EnvironmentCacheConfig {
+    /**
+     * Whether environments are served from the cache. Without it every request renders the
+     * environment from the local clone.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time between background fetches of the Git repository, in milliseconds. The cached environments
+     * of a label are rendered again when a fetch moves it to a new commit.
+     */
+    private long refreshIntervalMs = 30000;
+
+    /**
+     * Maximum number of cached application/profile/label combinations. Beyond it, rarely used ones
+     * are evicted.
+     */
+    private int maxEntries = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -0,0 +1,38 @@
+package com.config.configserver.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Puts {@link CachingEnvironmentRepository} in front of the repository the config server serves from:
+ * the composite of the Git (or native) backends, which the environment endpoints are bound to. Cached
+ * environments expire with the Git backend's {@code refresh-rate}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "config-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EnvironmentCacheConfiguration {
+
+    // Static, so it does not pull this configuration into the post-processor phase
+    @Bean
+    static BeanPostProcessor cachingEnvironmentRepositoryPostProcessor(ObjectProvider<EnvironmentCacheConfig> config,
+                                                                       ObjectProvider<MeterRegistry> meterRegistry,
+                                                                       Environment environment) {
+        long refreshRateSeconds = environment.getProperty("spring.cloud.config.server.git.refresh-rate", Long.class, 0L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SearchPathCompositeEnvironmentRepository repository) {
+                    return new CachingEnvironmentRepository(repository, config.getObject().getMaxEntries(),
+                            Math.max(refreshRateSeconds, 0) * 1000, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.config.configserver.cache;
+
+import com.config.configserver.cache.CachingEnvironmentRepository.Key;
+import com.config.configserver.events.ConfigChangeController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches the Git repository on a fixed interval, off the request path, and renders the cached
+ * environments of a label again when its branch or tag moved. Every label with cached environments
+ * is checked out in turn after one fetch, and its commit is compared with the one its environments
+ * were rendered at. Requests are served from the local clone in between; {@code refresh-rate} only
+ * makes a request fetch when this has fallen behind. Backends without a version, such as the native
+ * one, are rendered again on every run. Changed environments are pushed to subscribed services
+ * through {@link ConfigChangeController}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "config-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryRefresher.class);
+
+    // The primary repository, wrapped by EnvironmentCacheConfiguration
+    @Autowired
+    private EnvironmentRepository environmentRepository;
+
+    @Autowired
+    private ObjectProvider<JGitEnvironmentRepository> gitRepositories;
+
+    @Autowired
+    private ConfigChangeController configChanges;
+
+    // Commit each label's cached environments were rendered at; "" is the default label
+    private final Map<String, String> versions = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelayString = "${config-cache.refresh-interval-ms:30000}",
+            fixedDelayString = "${config-cache.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!(environmentRepository instanceof CachingEnvironmentRepository cache)) {
+            return;
+        }
+        List<JGitEnvironmentRepository> repositories = gitRepositories.orderedStream().toList();
+        if (repositories.isEmpty()) {
+            long started = System.nanoTime();
+            List<Key> changed = cache.refresh(label -> true);
+            cache.labels().forEach(cache::checked);
+            finish(cache, null, changed, started);
+            return;
+        }
+
+        // Labels no longer cached are forgotten, so they are rendered afresh if they come back
+        versions.keySet().retainAll(cache.labels().stream().map(RepositoryRefresher::labelKey).toList());
+        boolean fetch = true;
+        for (String label : cache.labels()) {
+            long started = System.nanoTime();
+            String version;
+            try {
+                version = checkout(repositories, label, fetch);
+            } catch (RuntimeException e) {
+                // The label's environments keep being served until its refresh rate has passed
+                logger.warn("Failed to update label {} of the configuration repository: {}", label, e.getMessage());
+                continue;
+            }
+            fetch = false;
+            cache.checked(label);
+            if (version.equals(versions.get(labelKey(label)))) {
+                continue;
+            }
+            List<Key> changed = cache.refresh(cached -> Objects.equals(cached, label));
+            versions.put(labelKey(label), version);
+            finish(cache, version, changed, started);
+        }
+    }
+
+    private void finish(CachingEnvironmentRepository cache, String version, List<Key> changed, long started) {
+        if (!changed.isEmpty() || version != null) {
+            logger.info("Rendered cached environments again at version {} in {} ms, {} of {} changed: {}", version,
+                    (System.nanoTime() - started) / 1_000_000, changed.size(), cache.size(), changed);
+        }
+        if (!changed.isEmpty()) {
+            configChanges.publish(version, changed);
+        }
+    }
+
+    /**
+     * Checks out {@code label} in every Git repository and returns the checked out commits. With
+     * {@code fetch} the repositories are fetched first, whatever their refresh rate; later labels of
+     * the same run use that fetch.
+     */
+    private static String checkout(List<JGitEnvironmentRepository> repositories, String label, boolean fetch) {
+        StringBuilder versions = new StringBuilder();
+        for (JGitEnvironmentRepository repository : repositories) {
+            // The repository guards its working copy with its own monitor, as requests do
+            synchronized (repository) {
+                if (fetch) {
+                    repository.setLastRefresh(0);
+                }
+                versions.append(repository.getLocations("application", "default", label).getVersion()).append(' ');
+            }
+        }
+        return versions.toString().trim();
+    }
+
+    private static String labelKey(String label) {
+        return label != null ? label : "";
+    }
+}
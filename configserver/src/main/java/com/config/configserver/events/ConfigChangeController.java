@@ -0,0 +1,73 @@
+package com.config.configserver.events;
+
+import com.config.configserver.cache.CachingEnvironmentRepository.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Pushes configuration changes to subscribed services as server-sent events, so they pick up a new
+ * commit without a {@code /refresh} call on each instance. Every event names the version and the
+ * application/profile/label combinations whose rendered environment changed; a service refreshes
+ * only when its own application is among them.
+ */
+@RestController
+public class ConfigChangeController {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeController.class);
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        // Never times out; subscribers that went away are dropped when a send to them fails
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        try {
+            // Commits the response, so the subscriber knows it is connected before the first change
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends a change event to every subscriber.
+     */
+    public void publish(String version, List<Key> changes) {
+        logger.info("Pushing {} changed environments to {} subscribers", changes.size(), subscribers.size());
+        Map<String, Object> event = Map.of("version", version != null ? version : "", "changes", changes);
+        send(() -> SseEmitter.event().name("change").data(event, MediaType.APPLICATION_JSON));
+    }
+
+    // Keeps idle connections open through proxies and finds subscribers that disconnected
+    @Scheduled(fixedDelayString = "${config-events.heartbeat-ms:30000}")
+    public void heartbeat() {
+        send(() -> SseEmitter.event().comment("heartbeat"));
+    }
+
+    // An event builder is consumed by sending it, so each subscriber gets its own
+    private void send(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+-- 200 users, 2000 repositories, 5000 backups, 2000 migrations and 10 schedules
+INSERT INTO users (username, full_name, email, role, status, "group", color_code, initials, last_activity, created_at, updated_at)
+SELECT 'svnuser' || x, 'Svn User ' || x, 'svnuser' || x || '@loadtest.local',
+       CASE MOD(x, 4) WHEN 0 THEN 'Admin' WHEN 3 THEN 'ReadOnly' ELSE 'Developer' END,
+       CASE MOD(x, 5) WHEN 3 THEN 'Inactive' WHEN 4 THEN 'Locked' ELSE 'Active' END,
+       'group' || MOD(x, 8), 'bg-blue-500', 'SU',
+       DATEADD('MINUTE', -x * 37, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO repositories (name, description, size, last_commit, last_commit_by, backup_status,
+                          migration_status, migration_progress, color_code, created_date, created_at, updated_at)
+SELECT 'project-' || x, 'Load-test repository ' || x, (100 + MOD(x * 7, 900)) || ' MB',
+       DATEADD('MINUTE', -x * 11, CURRENT_TIMESTAMP), 'svnuser' || (1 + MOD(x, 200)),
+       CASE MOD(x, 5) WHEN 3 THEN 'In Progress' WHEN 4 THEN 'Failed' ELSE 'Complete' END,
+       CASE MOD(x, 4) WHEN 0 THEN 'Completed' WHEN 1 THEN 'In Progress' WHEN 2 THEN 'Not Started' ELSE 'Archived' END,
+       MOD(x * 13, 101), 'bg-purple-500',
+       DATEADD('DAY', -MOD(x, 1000), CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO repository_members (repository_id, user_id)
+SELECT r.id, u.id FROM repositories r JOIN users u ON u.id = 1 + MOD(r.id, 200) OR u.id = 1 + MOD(r.id * 7, 200);
+
+INSERT INTO backups (backup_id, date, type, status, size, logical_size, physical_size, duration_ms,
+                     verification_status, duration, initiated_by, created_at, updated_at)
+SELECT 'BK-LT-' || x, DATEADD('HOUR', -x, CURRENT_TIMESTAMP),
+       CASEWHEN(MOD(x, 7) = 0, 'Full', 'Delta'),
+       CASE MOD(x, 10) WHEN 8 THEN 'In Progress' WHEN 9 THEN 'Failed' ELSE 'Complete' END,
+       MOD(x * 31, 10000) || ' MB', CAST(MOD(x * 31, 10000) AS BIGINT) * 1048576, CAST(MOD(x * 31, 10000) AS BIGINT) * 524288,
+       MOD(x * 97, 600000), CASE MOD(x, 4) WHEN 2 THEN 'Failed' WHEN 3 THEN 'Pending' ELSE 'Verified' END,
+       MOD(x, 60) || 'm', 'loadtest', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 5000);
+
+INSERT INTO backup_repositories (backup_id, repository_id)
+SELECT b.id, 1 + MOD(b.id, 2000) FROM backups b;
+
+INSERT INTO git_migrations (name, description, size, status, progress, started_date, assigned_to, color_code,
+                            repository_id, created_at, updated_at)
+SELECT 'project-' || x, 'Migration of project-' || x, (100 + MOD(x * 7, 900)) || ' MB',
+       CASE MOD(x, 4) WHEN 0 THEN 'Completed' WHEN 1 THEN 'In Progress' WHEN 2 THEN 'Not Started' ELSE 'Failed' END,
+       MOD(x * 13, 101), DATEADD('DAY', -MOD(x, 90), CURRENT_TIMESTAMP), 'svnuser' || (1 + MOD(x, 200)),
+       'bg-green-500', x, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO backup_schedules (schedule_id, name, type, frequency, time, retention, status, created_at, updated_at)
+SELECT 'SCH-LT-' || x, 'Schedule ' || x, CASEWHEN(MOD(x, 3) = 0, 'Full', 'Delta'),
+       CASE MOD(x, 3) WHEN 0 THEN 'Daily' WHEN 1 THEN 'Weekly' ELSE 'Monthly' END,
+       LPAD(MOD(x, 24), 2, '0') || ':00', '30 days', CASEWHEN(MOD(x, 4) = 0, 'Inactive', 'Active'),
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 10);
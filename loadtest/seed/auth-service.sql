@@ -0,0 +1,15 @@
+-- Load-test accounts loaduser1..loaduser50, password "loadtest123" (BCrypt, cost 10)
+INSERT INTO roles (name) VALUES ('ROLE_USER'), ('ROLE_ADMIN');
+
+INSERT INTO users (username, email, password, department)
+SELECT 'loaduser' || x, 'loaduser' || x || '@loadtest.local',
+       '$2a$10$Owg3HY.7lPzNsIRkCQR4UuvaKlHnbDKS4sRAe51XUBfvtxzJyEgxC',
+       CASEWHEN(MOD(x, 2) = 0, 'engineering', 'qa')
+FROM SYSTEM_RANGE(1, 50);
+
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_USER';
+
+-- Every tenth account is an admin, so the unrestricted RLS rule is exercised too
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_ADMIN' WHERE MOD(u.id, 10) = 0;
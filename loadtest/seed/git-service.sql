@@ -0,0 +1,19 @@
+-- 200 users, 2000 repositories with two members each and one backup record per repository
+INSERT INTO git_users (employee_id, username, group_name, role)
+SELECT 'EMP' || LPAD(x, 5, '0'), 'gituser' || x, 'group' || MOD(x, 8),
+       CASE MOD(x, 4) WHEN 0 THEN 'ADMIN' WHEN 1 THEN 'DEVELOPER' WHEN 2 THEN 'REVIEWER' ELSE 'TESTER' END
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO git_repositories (project_name, department, git_url, ssh_url, created_date, created_by)
+SELECT 'project-' || x, 'dept' || MOD(x, 12),
+       'https://git.loadtest.local/project-' || x || '.git', 'git@git.loadtest.local:project-' || x || '.git',
+       DATEADD('DAY', -MOD(x, 1000), CURRENT_TIMESTAMP), 1 + MOD(x, 200)
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO repository_members (repository_id, employee_id)
+SELECT r.id, u.employee_id FROM git_repositories r
+JOIN git_users u ON u.id = 1 + MOD(r.id, 200) OR u.id = 1 + MOD(r.id * 7, 200);
+
+INSERT INTO git_backups (repository_id, backup_status, last_backup_time)
+SELECT r.id, CASEWHEN(MOD(r.id, 5) = 0, 'PENDING', 'COMPLETE'), DATEADD('HOUR', -MOD(r.id, 72), CURRENT_TIMESTAMP)
+FROM git_repositories r;
@@ -0,0 +1,62 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compares two load-test reports route by route, typically a platform-thread run against a virtual-thread
+ * run with the same users and think time.
+ *
+ * <pre>java -cp target/loadtest.jar com.microservices.loadtest.CompareReports \
+ *     target/loadtest-report-platform.json target/loadtest-report-virtual.json</pre>
+ */
+public class CompareReports {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareReports <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, Map<String, Object>> baseline = read(new File(args[0]));
+        Map<String, Map<String, Object>> candidate = read(new File(args[1]));
+
+        System.out.printf("%-28s %19s %8s %21s %8s %15s%n",
+                "route", "req/s", "change", "p99 ms", "change", "errors");
+        TreeSet<String> routes = new TreeSet<>(baseline.keySet());
+        routes.addAll(candidate.keySet());
+        for (String route : routes) {
+            Map<String, Object> before = baseline.getOrDefault(route, Map.of());
+            Map<String, Object> after = candidate.getOrDefault(route, Map.of());
+            double throughputBefore = number(before, "throughput");
+            double throughputAfter = number(after, "throughput");
+            double p99Before = number(before, "p99Ms");
+            double p99After = number(after, "p99Ms");
+            System.out.printf("%-28s %9.1f → %7.1f %8s %10.1f → %8.1f %8s %6d → %6d%n",
+                    route, throughputBefore, throughputAfter, change(throughputBefore, throughputAfter),
+                    p99Before, p99After, change(p99Before, p99After),
+                    (long) number(before, "errors"), (long) number(after, "errors"));
+        }
+    }
+
+    private static Map<String, Map<String, Object>> read(File file) throws IOException {
+        List<Map<String, Object>> rows = new ObjectMapper().readValue(file, new TypeReference<>() {});
+        return rows.stream().collect(Collectors.toMap(row -> (String) row.get("route"), Function.identity()));
+    }
+
+    private static double number(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format("%+.0f%%", (after - before) * 100 / before);
+    }
+}
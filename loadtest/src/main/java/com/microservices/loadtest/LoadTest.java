@@ -0,0 +1,132 @@
+package com.microservices.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the load test. Starts the stack unless {@code --no-launch} is given, drives
+ * traffic through the gateway and prints latency percentiles per route.
+ *
+ * <pre>java -jar target/loadtest.jar [--scenario=dashboard|auth] [--users=50] [--duration=120] [--warmup=30]
+ *     [--think-ms=500] [--superset-latency-ms=20] [--heap=384m] [--base-url=http://127.0.0.1:8080]
+ *     [--auth-url=http://127.0.0.1:8081] [--no-launch] [--virtual-threads] [--jfr]</pre>
+ *
+ * {@code --scenario} picks the traffic mix, see {@link TrafficDriver}; after either one the hit rate of
+ * the authservice user cache is read from {@code --auth-url}.
+ * {@code --virtual-threads} starts the servlet services with their virtual-threads profile and
+ * {@code --jfr} records every service, reporting where virtual threads were pinned once the stack stops.
+ * The summary is also written to target/loadtest-report-&lt;platform|virtual|external&gt;.json, or
+ * loadtest-report-auth-&lt;mode&gt;.json for the auth scenario, to be compared with {@link CompareReports}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            run(parse(args));
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // The Superset stub's threads would keep the JVM alive; exiting also runs the shutdown hook
+        System.exit(status);
+    }
+
+    private static void run(Map<String, String> options) throws Exception {
+        String scenario = options.getOrDefault("scenario", "dashboard");
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "120"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "30"));
+        long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "500"));
+        long supersetLatencyMs = Long.parseLong(options.getOrDefault("superset-latency-ms", "20"));
+        String baseUrl = options.getOrDefault("base-url", "http://127.0.0.1:8080");
+        String authUrl = options.getOrDefault("auth-url", "http://127.0.0.1:8081");
+        Path home = Path.of(options.getOrDefault("home", ".")).toAbsolutePath().normalize();
+        boolean launch = !options.containsKey("no-launch");
+        boolean virtualThreads = options.containsKey("virtual-threads");
+        boolean flightRecording = options.containsKey("jfr");
+        String mode = !launch ? "external" : virtualThreads ? "virtual" : "platform";
+
+        ServiceStack stack = null;
+        if (launch) {
+            SupersetStub superset = new SupersetStub(8088, supersetLatencyMs);
+            stack = new ServiceStack(home, List.of(
+                    "-Xmx" + options.getOrDefault("heap", "384m"), "-XX:+ExitOnOutOfMemoryError"),
+                    virtualThreads ? Set.of(ServiceStack.VIRTUAL_THREADS) : Set.of(), flightRecording);
+            ServiceStack started = stack;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                started.close();
+                superset.stop();
+            }));
+            superset.start();
+            stack.start();
+        }
+
+        RouteStats stats = new RouteStats();
+        TrafficDriver driver = new TrafficDriver(baseUrl, stats, thinkMs, scenario);
+        UserCacheStats userCache = new UserCacheStats(authUrl);
+        driver.awaitRoutes(Duration.ofMinutes(2));
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(warmup + duration);
+
+        System.out.printf("Running %d users of the %s scenario for %ds after a %ds warm-up (%s threads)%n",
+                users, scenario, duration, warmup, mode);
+        Thread traffic = Thread.ofPlatform().start(() -> driver.run(users, end));
+        TimeUnit.SECONDS.sleep(warmup);
+        stats.reset();
+        boolean userCacheStats = resetUserCacheStats(userCache);
+        traffic.join();
+
+        stats.print();
+        if (userCacheStats) {
+            userCache.print();
+        }
+        String prefix = "dashboard".equals(scenario) ? "" : scenario + "-";
+        File report = home.resolve("target/loadtest-report-" + prefix + mode + ".json").toFile();
+        stats.write(report);
+        System.out.println("Report written to " + report);
+
+        if (stack != null && flightRecording) {
+            // The recordings are only complete once the services have exited
+            stack.close();
+            PinningReport.print(stack.recordings());
+        }
+    }
+
+    // Not fatal: a stack driven with --no-launch may not expose the authservice metrics here
+    private static boolean resetUserCacheStats(UserCacheStats userCache) {
+        try {
+            userCache.reset();
+            return true;
+        } catch (IOException e) {
+            System.out.println("authservice metrics not available: " + e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
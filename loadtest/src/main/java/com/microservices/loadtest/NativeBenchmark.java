@@ -0,0 +1,208 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.loadtest.ServiceStack.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the native executables of auth-service and the gateway with their JVM builds. For each build it
+ * measures time to the first login, resident memory (RSS) after startup and after a burst of authenticated
+ * requests through the gateway, and runs {@link NativeSuite} against the services. Config server and Eureka
+ * run on the JVM throughout.
+ *
+ * <pre>java -cp target/loadtest.jar com.microservices.loadtest.NativeBenchmark [--builds=jvm,native]
+ *     [--heap=256m] [--requests=2000]</pre>
+ *
+ * <ul>
+ *     <li>{@code jvm} runs the jars, {@code jvm-aot} runs them with the AOT bean definitions of the native
+ *     Maven profile, {@code native} runs the executables built with {@code mvn -Pnative,loadtest native:compile}
+ *     in authservice and {@code mvn -Pnative native:compile} in apiGateway</li>
+ *     <li>{@code --heap} is the maximum heap of both builds, so RSS is compared at the same limit</li>
+ * </ul>
+ *
+ * Results go to target/native-report.json; the run fails if any check failed.
+ */
+public class NativeBenchmark {
+    private static final Duration TIMEOUT = Duration.ofMinutes(4);
+    private static final int CLIENTS = 8;
+
+    private final ServiceStack stack;
+    private final NativeSuite suite = new NativeSuite();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private NativeBenchmark(ServiceStack stack) {
+        this.stack = stack;
+    }
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            status = run(args) ? 0 : 1;
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    private static boolean run(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+        List<String> builds = List.of(options.getOrDefault("builds", "jvm,native").split(","));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "2000"));
+        Path home = Path.of(options.getOrDefault("home", ".")).toAbsolutePath().normalize();
+
+        // Heap limit only: native executables do not take most -XX options
+        ServiceStack stack = new ServiceStack(home, List.of("-Xmx" + options.getOrDefault("heap", "256m")), Set.of(), false);
+        if (builds.contains("native")) {
+            // Fail before starting anything
+            stack.nativeExecutable("authservice");
+            stack.nativeExecutable("apiGateway");
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(stack::close));
+        stack.start(stack.service("config-server"));
+        stack.start(stack.service("service-registry"));
+
+        NativeBenchmark benchmark = new NativeBenchmark(stack);
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (String build : builds) {
+            report.addAll(benchmark.measure(build, requests));
+        }
+
+        System.out.printf("%nNative and JVM builds, %d requests through the gateway%n", requests);
+        System.out.printf("%-14s %-9s %10s %14s %13s %11s%n", "service", "build", "start ms", "RSS start MB",
+                "RSS load MB", "peak MB");
+        report.stream()
+                .sorted((a, b) -> ((String) a.get("service")).compareTo((String) b.get("service")))
+                .forEach(row -> System.out.printf("%-14s %-9s %10d %14d %13d %11d%n", row.get("service"), row.get("build"),
+                        row.get("firstRequestMs"), row.get("rssAfterStartMb"), row.get("rssAfterLoadMb"), row.get("peakRssMb")));
+        System.out.printf("%n%d checks, %d failed%s%n", benchmark.suite.checks(), benchmark.suite.failures().size(),
+                benchmark.suite.failures().isEmpty() ? "" : ": " + benchmark.suite.failures());
+
+        File file = home.resolve("target/native-report.json").toFile();
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file);
+        return benchmark.suite.failures().isEmpty();
+    }
+
+    /**
+     * Starts auth-service, then the gateway, each until a login through it succeeds, runs the checks and the
+     * request burst, and stops both.
+     */
+    private List<Map<String, Object>> measure(String build, int requests) throws IOException, InterruptedException {
+        System.out.printf("%n== %s build ==%n", build);
+        Map<Service, Process> processes = new LinkedHashMap<>();
+        Map<Service, Map<String, Object>> rows = new LinkedHashMap<>();
+        try {
+            for (Service service : List.of(stack.service("auth-service"), stack.service("api-gateway"))) {
+                long started = System.nanoTime();
+                Process process = launch(build, service);
+                processes.put(service, process);
+                long deadline = started + TIMEOUT.toNanos();
+                // Through the gateway this also waits for auth-service to appear in its copy of the registry
+                while (suite.login(service.port(), TrafficDriver.PASSWORD).status() != 200) {
+                    stack.checkRunning(service, process, deadline);
+                    Thread.sleep(50);
+                }
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("service", service.name());
+                row.put("build", build);
+                row.put("firstRequestMs", Duration.ofNanos(System.nanoTime() - started).toMillis());
+                row.put("rssAfterStartMb", memory(process, "VmRSS"));
+                rows.put(service, row);
+            }
+
+            Service authService = stack.service("auth-service");
+            Service gateway = stack.service("api-gateway");
+            suite.checkAuthService(authService.port());
+            suite.checkGateway(gateway.port());
+
+            String token = suite.login(gateway.port(), TrafficDriver.PASSWORD).json().path("accessToken").asText();
+            burst(gateway.port(), token, requests);
+            for (Map.Entry<Service, Process> entry : processes.entrySet()) {
+                rows.get(entry.getKey()).put("rssAfterLoadMb", memory(entry.getValue(), "VmRSS"));
+                rows.get(entry.getKey()).put("peakRssMb", memory(entry.getValue(), "VmHWM"));
+            }
+            return new ArrayList<>(rows.values());
+        } finally {
+            for (Process process : processes.values()) {
+                stack.stop(process);
+            }
+        }
+    }
+
+    /**
+     * Authenticated requests through the gateway to auth-service, from a few concurrent clients, so both
+     * services verify tokens, route and look up users under load.
+     */
+    private void burst(int port, String token, int requests) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/me"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .GET().build();
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < requests; i++) {
+            clients.execute(() -> {
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                        failed.incrementAndGet();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    failed.incrementAndGet();
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        System.out.printf("%d requests in %d ms, %d failed%n", requests,
+                Duration.ofNanos(System.nanoTime() - started).toMillis(), failed.get());
+    }
+
+    private Process launch(String build, Service service) throws IOException {
+        return switch (build) {
+            case "jvm" -> stack.launch(service, stack.jar(service.module()), List.of());
+            case "jvm-aot" -> stack.launch(service, stack.jar(service.module()), List.of("-Dspring.aot.enabled=true"));
+            case "native" -> stack.launchNative(service);
+            default -> throw new IllegalArgumentException("Unknown build " + build + "; use jvm, jvm-aot or native");
+        };
+    }
+
+    /**
+     * A memory figure of the process from /proc in MB: VmRSS is resident now, VmHWM the peak.
+     */
+    private static long memory(Process process, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+            if (line.startsWith(field + ":")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+            }
+        }
+        throw new IllegalStateException("No " + field + " for process " + process.pid());
+    }
+}
@@ -0,0 +1,183 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Functional checks of auth-service and the gateway for their native executables. Missing reflection or
+ * resource hints only show at runtime there. The checks cover issuing and verifying tokens (jjwt), the JWK
+ * set, looking up the user through JPA and the cache, and routing through Eureka. {@link NativeBenchmark}
+ * runs them against each build; on their own they check services that are already running:
+ *
+ * <pre>java -cp target/loadtest.jar com.microservices.loadtest.NativeSuite [--auth=8081] [--gateway=8080]</pre>
+ */
+public class NativeSuite {
+    static final String USERNAME = "loaduser1";
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> failures = new ArrayList<>();
+    private int checks;
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+        NativeSuite suite = new NativeSuite();
+        suite.checkAuthService(Integer.parseInt(options.getOrDefault("auth", "8081")));
+        suite.checkGateway(Integer.parseInt(options.getOrDefault("gateway", "8080")));
+        System.out.printf("%n%d checks, %d failed%n", suite.checks(), suite.failures().size());
+        System.exit(suite.failures().isEmpty() ? 0 : 1);
+    }
+
+    public void checkAuthService(int port) {
+        System.out.printf("auth-service on port %d%n", port);
+        Response jwks = send(port, "GET", "/.well-known/jwks.json", null, null);
+        JsonNode key = jwks.json().path("keys").path(0);
+        check("JWK set lists the RSA signing key", jwks.status() == 200 && "RSA".equals(key.path("kty").asText())
+                && !key.path("n").asText().isEmpty(), jwks);
+
+        Response login = login(port, TrafficDriver.PASSWORD);
+        String token = login.json().path("accessToken").asText(null);
+        check("login issues an access token", login.status() == 200 && token != null, login);
+        if (token == null) {
+            return;
+        }
+        check("token header names the JWK set's key", header(token).path("kid").asText().equals(key.path("kid").asText()), login);
+        check("wrong password is rejected", login(port, "wrong-password").status() == 401, null);
+
+        Response me = send(port, "GET", "/api/auth/me", token, null);
+        check("token is accepted", me.status() == 200 && USERNAME.equals(me.json().path("username").asText()), me);
+        check("request without token is rejected", send(port, "GET", "/api/auth/me", null, null).status() == 401, null);
+        check("tampered token is rejected", send(port, "GET", "/api/auth/me", tamper(token), null).status() == 401, null);
+
+        Response validate = send(port, "POST", "/api/auth/validate", token, Map.of("token", token));
+        check("validate endpoint accepts the token", validate.json().path("valid").asBoolean(), validate);
+        Response refresh = send(port, "POST", "/api/auth/refresh-token", token,
+                Map.of("refreshToken", login.json().path("refreshToken").asText()));
+        check("refresh token issues a new access token", refresh.status() == 200
+                && !refresh.json().path("accessToken").asText().isEmpty(), refresh);
+    }
+
+    public void checkGateway(int port) {
+        System.out.printf("api-gateway on port %d%n", port);
+        Response login = login(port, TrafficDriver.PASSWORD);
+        String token = login.json().path("accessToken").asText(null);
+        check("login is routed to auth-service", login.status() == 200 && token != null, login);
+        if (token == null) {
+            return;
+        }
+        Response me = send(port, "GET", "/api/auth/me", token, null);
+        check("token is verified against the JWK set and routed", me.status() == 200
+                && USERNAME.equals(me.json().path("username").asText()), me);
+        Response missing = send(port, "GET", "/api/auth/me", null, null);
+        check("request without token is rejected at the gateway", missing.status() == 401, missing);
+        Response tampered = send(port, "GET", "/api/auth/me", tamper(token), null);
+        check("tampered token is rejected at the gateway", tampered.status() == 401, tampered);
+    }
+
+    public int checks() {
+        return checks;
+    }
+
+    public List<String> failures() {
+        return failures;
+    }
+
+    /**
+     * Logs in as the load-test user; the response carries the access and refresh tokens.
+     */
+    public Response login(int port, String password) {
+        return send(port, "POST", "/api/auth/login", null, Map.of("username", USERNAME, "password", password));
+    }
+
+    private void check(String name, boolean passed, Response response) {
+        checks++;
+        if (passed) {
+            System.out.printf("  ok    %s%n", name);
+        } else {
+            failures.add(name);
+            System.out.printf("  FAIL  %s%s%n", name, response == null ? "" : ": " + response);
+        }
+    }
+
+    private JsonNode header(String token) {
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        } catch (IOException | IllegalArgumentException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    // Same header and claims, signature of another token
+    private static String tamper(String token) {
+        int signature = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signature);
+        return token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+    }
+
+    private Response send(int port, String method, String path, String token, Map<String, ?> body) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                    .timeout(Duration.ofSeconds(10));
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            }
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            return new Response(-1, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, e.toString());
+        }
+    }
+
+    public class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public JsonNode json() {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                return MissingNode.getInstance();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return status + " " + (body.length() > 200 ? body.substring(0, 200) + "..." : body);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.microservices.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the services' flight recordings and lists where virtual threads were pinned to their carrier,
+ * grouped by the innermost application frames. A pinned virtual thread blocks a carrier, and with it every
+ * other virtual thread scheduled there, so these are the places to fix before relying on the mode.
+ *
+ * <pre>java -cp target/loadtest.jar com.microservices.loadtest.PinningReport target/stack/jfr/*.jfr</pre>
+ */
+public class PinningReport {
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final int FRAMES = 6;
+    private static final int TOP = 10;
+
+    public static void main(String[] args) throws IOException {
+        print(Arrays.stream(args).map(Path::of).toList());
+    }
+
+    public static void print(List<Path> recordings) throws IOException {
+        for (Path recording : recordings) {
+            Map<String, Site> sites = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+                if (PINNED.equals(event.getEventType().getName())) {
+                    sites.computeIfAbsent(site(event.getStackTrace()), key -> new Site()).add(event.getDuration());
+                }
+            }
+
+            String service = recording.getFileName().toString().replace(".jfr", "");
+            long total = sites.values().stream().mapToLong(site -> site.count).sum();
+            System.out.printf("%n%s: %d pinned virtual thread%s%n", service, total, total == 1 ? "" : "s");
+            sites.entrySet().stream()
+                    .sorted((a, b) -> b.getValue().total.compareTo(a.getValue().total))
+                    .limit(TOP)
+                    .forEach(entry -> System.out.printf("  %6d times, %8.1f ms total, %7.1f ms max%n%s%n",
+                            entry.getValue().count, entry.getValue().total.toNanos() / 1e6,
+                            entry.getValue().max.toNanos() / 1e6, entry.getKey()));
+        }
+    }
+
+    // The innermost frames outside the JDK, which is where the monitor or native call was entered
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "    (no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        int first = 0;
+        while (first < frames.size() - 1 && isJdk(frames.get(first))) {
+            first++;
+        }
+        // Keep the last JDK frame for context, e.g. the blocking call that found the monitor held
+        return frames.subList(Math.max(0, first - 1), Math.min(frames.size(), first + FRAMES)).stream()
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static class Site {
+        long count;
+        Duration total = Duration.ZERO;
+        Duration max = Duration.ZERO;
+
+        void add(Duration duration) {
+            count++;
+            total = total.plus(duration);
+            if (duration.compareTo(max) > 0) {
+                max = duration;
+            }
+        }
+    }
+}
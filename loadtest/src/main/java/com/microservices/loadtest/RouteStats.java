@@ -0,0 +1,89 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts per route. Latencies are kept in microseconds, so the percentiles
+ * are exact to three significant digits instead of being averaged per interval.
+ */
+public class RouteStats {
+    private static final long HIGHEST_LATENCY_US = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    public void record(String route, long latencyNanos, boolean success) {
+        Route stats = routes.computeIfAbsent(route, key -> new Route());
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_US));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far; called at the end of the warm-up.
+     */
+    public void reset() {
+        routes.clear();
+        startNanos = System.nanoTime();
+    }
+
+    public List<Map<String, Object>> summary() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return routes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().summary(entry.getKey(), seconds))
+                .toList();
+    }
+
+    public void print() {
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> row : summary()) {
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("route"), row.get("requests"), row.get("errors"), row.get("throughput"),
+                    row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+    }
+
+    public void write(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, summary());
+    }
+
+    private static class Route {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_LATENCY_US, 3);
+        final LongAdder errors = new LongAdder();
+
+        Map<String, Object> summary(String name, double seconds) {
+            Histogram copy = latency.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("route", name);
+            row.put("requests", copy.getTotalCount());
+            row.put("errors", errors.sum());
+            row.put("throughput", copy.getTotalCount() / seconds);
+            row.put("p50Ms", millis(copy.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(copy.getValueAtPercentile(90)));
+            row.put("p99Ms", millis(copy.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(copy.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(copy.getMaxValue()));
+            return row;
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
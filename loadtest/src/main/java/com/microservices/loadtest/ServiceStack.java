@@ -0,0 +1,307 @@
+package com.microservices.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Starts the config server, Eureka and the services from their built jars, each in its own JVM,
+ * with the configuration in loadtest/config served by the config server's native profile.
+ * Nothing outside 127.0.0.1 is contacted: databases are in-memory H2 and Superset is {@link SupersetStub}.
+ */
+public class ServiceStack implements AutoCloseable {
+    public static final String VIRTUAL_THREADS = "virtual-threads";
+    public static final String FAST_STARTUP = "fast-startup";
+
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(4);
+    private static final String CONFIG_URI = "http://127.0.0.1:8888";
+
+    private final Path home;
+    private final Path root;
+    private final Path logs;
+    private final Path recordings;
+    private final List<String> jvmOptions;
+    private final boolean flightRecording;
+    private final List<Service> services;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Deque<Process> processes = new ArrayDeque<>();
+
+    /**
+     * @param home the loadtest module directory
+     * @param jvmOptions options passed to every service JVM, e.g. the heap size
+     * @param profiles Spring profiles to run the services with: {@link #VIRTUAL_THREADS} applies to the
+     *                 servlet services only, {@link #FAST_STARTUP} to all of them
+     * @param flightRecording record every service with JFR, including virtual thread pinning
+     */
+    public ServiceStack(Path home, List<String> jvmOptions, Set<String> profiles, boolean flightRecording) {
+        this.home = home.toAbsolutePath().normalize();
+        this.root = this.home.getParent();
+        this.logs = this.home.resolve("target/stack/logs");
+        this.recordings = this.home.resolve("target/stack/jfr");
+        this.jvmOptions = jvmOptions;
+        this.flightRecording = flightRecording;
+        this.services = services(profiles);
+    }
+
+    /**
+     * A service of the stack, in start order: the module it is built in and how it is started.
+     */
+    public record Service(String name, String module, int port, List<String> args) {
+
+        /**
+         * The same service on another port, e.g. a second instance next to the running one.
+         */
+        public Service withPort(int otherPort) {
+            List<String> otherArgs = new ArrayList<>(args);
+            otherArgs.add("--server.port=" + otherPort);
+            return new Service(name + "-" + otherPort, module, otherPort, otherArgs);
+        }
+    }
+
+    private List<Service> services(Set<String> profiles) {
+        List<String> servlet = new ArrayList<>(profiles);
+        List<String> reactive = profiles.stream().filter(profile -> !profile.equals(VIRTUAL_THREADS)).toList();
+        List<String> configServer = new ArrayList<>(List.of("native"));
+        configServer.addAll(reactive);
+        return List.of(
+                new Service("config-server", "configserver", 8888, args(configServer,
+                        "--spring.cloud.config.server.native.search-locations=file:" + home.resolve("config") + "/",
+                        "--server.address=127.0.0.1",
+                        "--eureka.client.enabled=false")),
+                new Service("service-registry", "serviceRegistry", 8761, args(reactive)),
+                new Service("auth-service", "authservice", 8081, args(servlet, signingKeyArgs())),
+                new Service("apisvn-service", "apisvn", 8083, args(servlet)),
+                new Service("git-service", "GitDashboard", 8084, args(servlet)),
+                new Service("superset-embed-service", "supersetEmbed", 8086, args(reactive)),
+                new Service("api-gateway", "apiGateway", 8080, args(reactive)));
+    }
+
+    private static List<String> args(List<String> profiles, String... args) {
+        List<String> all = new ArrayList<>();
+        if (!profiles.isEmpty()) {
+            all.add("--spring.profiles.active=" + String.join(",", profiles));
+        }
+        all.addAll(List.of(args));
+        return all;
+    }
+
+    public List<Service> services() {
+        return services;
+    }
+
+    public Service service(String name) {
+        return services.stream().filter(service -> service.name().equals(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown service " + name));
+    }
+
+    public void start() throws IOException, InterruptedException {
+        for (Service service : services) {
+            start(service);
+        }
+    }
+
+    /**
+     * Starts a service from its module's jar and waits until it reports healthy.
+     */
+    public void start(Service service) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Process process = launch(service, jar(service.module()), List.of());
+        awaitHealthy(service, process, started);
+        System.out.printf("%s is up after %d ms%n", service.name(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Starts a service without waiting for it. The process is stopped with the stack unless it is
+     * stopped before with {@link #stop(Process)}.
+     *
+     * @param jar the jar to run, the module's own or an extracted copy of it
+     * @param extraJvmOptions options added to the stack's JVM options for this process only
+     */
+    public Process launch(Service service, Path jar, List<String> extraJvmOptions) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(extraJvmOptions);
+        if (flightRecording) {
+            // Pinning is recorded from 20 ms by default; short pins add up under load too
+            command.add("-XX:StartFlightRecording=settings=profile,dumponexit=true,jdk.VirtualThreadPinned#threshold=1ms,filename="
+                    + recordings.resolve(service.name() + ".jfr"));
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        return launch(service, command);
+    }
+
+    /**
+     * Starts a service from the native executable of its module without waiting for it, like
+     * {@link #launch(Service, Path, List)}. Native executables take the heap options but not flight recording.
+     */
+    public Process launchNative(Service service) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(nativeExecutable(service.module()).toString());
+        command.addAll(jvmOptions);
+        return launch(service, command);
+    }
+
+    private Process launch(Service service, List<String> command) throws IOException {
+        Files.createDirectories(logs);
+        Files.createDirectories(recordings);
+
+        command.add("--spring.cloud.config.uri=" + CONFIG_URI);
+        command.addAll(service.args());
+
+        File log = logs.resolve(service.name() + ".log").toFile();
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(home.resolve("target/stack").toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        builder.environment().put("LOADTEST_HOME", home.toString());
+
+        System.out.printf("Starting %s on port %d (log: %s)%n", service.name(), service.port(), log);
+        Process process = builder.start();
+        processes.push(process);
+        return process;
+    }
+
+    public void awaitHealthy(Service service, Process process, long startedNanos) throws InterruptedException {
+        long deadline = startedNanos + START_TIMEOUT.toNanos();
+        while (status("http://127.0.0.1:" + service.port() + "/actuator/health") != 200) {
+            checkRunning(service, process, deadline);
+            Thread.sleep(500);
+        }
+    }
+
+    /**
+     * Fails if the process has exited or the deadline has passed; for callers polling a process they launched.
+     */
+    public void checkRunning(Service service, Process process, long deadlineNanos) {
+        if (!process.isAlive()) {
+            throw new IllegalStateException(service.name() + " exited with code " + process.exitValue() + ", see " + log(service));
+        }
+        if (System.nanoTime() > deadlineNanos) {
+            throw new IllegalStateException(service.name() + " did not start in time, see " + log(service));
+        }
+    }
+
+    public Path log(Service service) {
+        return logs.resolve(service.name() + ".log");
+    }
+
+    public void stop(Process process) throws InterruptedException {
+        processes.remove(process);
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Recordings written by the services that have stopped; JFR writes them on exit.
+     */
+    public List<Path> recordings() throws IOException {
+        try (Stream<Path> files = Files.list(recordings)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr")).sorted().toList();
+        }
+    }
+
+    /**
+     * Picks the runnable jar of a module: the Spring Boot jar in target, skipping the plain '-classes'
+     * jar that apisvn, apiGateway and GitDashboard attach for the benchmarks module.
+     */
+    public Path jar(String module) throws IOException {
+        Path target = root.resolve(module).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No build output in " + target + "; run mvn package in " + module + " first");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            List<Path> jars = files
+                    .filter(file -> file.getFileName().toString().endsWith(".jar") && !isClasses(file))
+                    .toList();
+            if (jars.isEmpty()) {
+                throw new IllegalStateException("No jar in " + target + "; run mvn package in " + module + " first");
+            }
+            return jars.get(0);
+        }
+    }
+
+    /**
+     * The executable built by the native Maven profile, named after the module.
+     */
+    public Path nativeExecutable(String module) {
+        Path executable = root.resolve(module).resolve("target").resolve(module);
+        if (!Files.isExecutable(executable)) {
+            throw new IllegalStateException("No native executable " + executable + "; run mvn -Pnative native:compile in "
+                    + module + " first");
+        }
+        return executable;
+    }
+
+    private static boolean isClasses(Path jar) {
+        return jar.getFileName().toString().endsWith("-classes.jar");
+    }
+
+    /**
+     * A fresh RS256 signing key for auth-service, so no real key is ever needed locally.
+     */
+    private static String[] signingKeyArgs() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            Base64.Encoder encoder = Base64.getEncoder();
+            return new String[]{
+                    "--app.jwt.keys[0].id=loadtest",
+                    "--app.jwt.keys[0].private-key=" + encoder.encodeToString(pair.getPrivate().getEncoded()),
+                    "--app.jwt.keys[0].public-key=" + encoder.encodeToString(pair.getPublic().getEncoded())
+            };
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int status(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        // Stop in reverse order, so services deregister while Eureka is still up
+        while (!processes.isEmpty()) {
+            Process process = processes.pop();
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.loadtest.ServiceStack.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures time-to-first-request of every service: from launching its JVM until it has answered a real
+ * request (a login, a dashboard query, a config lookup) and, for the Eureka clients, until the registry
+ * lists it as UP, which is when the gateway starts routing to it. Each service is started {@code --runs}
+ * times next to an already running config server and Eureka.
+ *
+ * <pre>java -cp target/loadtest.jar com.microservices.loadtest.StartupBenchmark [--runs=3] [--heap=384m]
+ *     [--aot] [--cds] [--profile] [--label=...]</pre>
+ *
+ * <ul>
+ *     <li>{@code --aot} runs with the bean definitions generated at build time; the jars must be built with
+ *     the fast-startup Maven profile</li>
+ *     <li>{@code --cds} extracts each jar and records a class-data sharing archive in a training run
+ *     before measuring</li>
+ *     <li>{@code --profile} activates the fast-startup Spring profile (deferred registration and warm-up)</li>
+ * </ul>
+ *
+ * Results go to target/startup-report-&lt;label&gt;.json; the label defaults to the options used.
+ */
+public class StartupBenchmark {
+    private static final Duration TIMEOUT = Duration.ofMinutes(4);
+    private static final String EUREKA = "http://127.0.0.1:8761/eureka/apps/";
+
+    // Eureka server does not support AOT. The config server does, but AOT fixes its backend at build time:
+    // git, as in production, not the native one of this stack
+    private static final Set<String> NO_AOT = Set.of("serviceRegistry", "configserver");
+
+    private final ServiceStack stack;
+    private final Path home;
+    private final boolean aot;
+    private final boolean cds;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String token;
+
+    private StartupBenchmark(ServiceStack stack, Path home, boolean aot, boolean cds) {
+        this.stack = stack;
+        this.home = home;
+        this.aot = aot;
+        this.cds = cds;
+    }
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            run(args);
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    private static void run(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length == 2 ? option[1] : "true");
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        boolean aot = options.containsKey("aot");
+        boolean cds = options.containsKey("cds");
+        boolean profile = options.containsKey("profile");
+        Path home = Path.of(options.getOrDefault("home", ".")).toAbsolutePath().normalize();
+
+        Set<String> modes = new LinkedHashSet<>();
+        if (aot) {
+            modes.add("aot");
+        }
+        if (cds) {
+            modes.add("cds");
+        }
+        if (profile) {
+            modes.add("profile");
+        }
+        String label = options.getOrDefault("label", modes.isEmpty() ? "baseline" : String.join("-", modes));
+
+        SupersetStub superset = new SupersetStub(8088, 20);
+        ServiceStack stack = new ServiceStack(home, List.of(
+                "-Xmx" + options.getOrDefault("heap", "384m"), "-XX:+ExitOnOutOfMemoryError"),
+                profile ? Set.of(ServiceStack.FAST_STARTUP) : Set.of(), false);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stack.close();
+            superset.stop();
+        }));
+        superset.start();
+        // Everything depends on these two; they are measured as second instances on other ports
+        stack.start(stack.service("config-server"));
+        stack.start(stack.service("service-registry"));
+
+        StartupBenchmark benchmark = new StartupBenchmark(stack, home, aot, cds);
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (Target target : benchmark.targets()) {
+            report.add(benchmark.measure(target, runs));
+        }
+
+        System.out.printf("%nTime to first request (%s), median of %d runs%n", label, runs);
+        System.out.printf("%-26s %12s %12s %12s %14s%n", "service", "first ms", "min ms", "max ms", "registered ms");
+        for (Map<String, Object> row : report) {
+            System.out.printf("%-26s %12d %12d %12d %14s%n", row.get("service"), row.get("firstRequestMs"),
+                    row.get("minFirstRequestMs"), row.get("maxFirstRequestMs"),
+                    row.get("registeredMs") == null ? "-" : row.get("registeredMs"));
+        }
+        File file = home.resolve("target/startup-report-" + label + ".json").toFile();
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file);
+    }
+
+    /**
+     * The services in dependency order, each with the request that shows it is serving. The last run of each
+     * service on its own port stays up for the ones after it.
+     */
+    private List<Target> targets() {
+        return List.of(
+                new Target(stack.service("config-server").withPort(8889), null,
+                        port -> get(port, "/auth-service/default")),
+                new Target(stack.service("service-registry").withPort(8762), null,
+                        port -> get(port, "/eureka/apps")),
+                new Target(stack.service("auth-service"), "AUTH-SERVICE", this::login),
+                new Target(stack.service("apisvn-service"), "APISVN-SERVICE",
+                        port -> get(port, "/api/svn/dashboard/metrics")),
+                new Target(stack.service("git-service"), "GIT-SERVICE",
+                        port -> get(port, "/api/git/dashboard/summary")),
+                new Target(stack.service("superset-embed-service"), "SUPERSET-EMBED-SERVICE",
+                        port -> post(port, "/api/superset/guest-token", Map.of("tenant", "bugzilla", "dashboardId", "dashboard-1"))),
+                // Through the gateway, so its route to auth-service has to be resolved too
+                new Target(stack.service("api-gateway"), "API-GATEWAY", this::login));
+    }
+
+    private Map<String, Object> measure(Target target, int runs) throws IOException, InterruptedException {
+        Service service = target.service();
+        Path jar = stack.jar(service.module());
+        List<String> jvmOptions = new ArrayList<>();
+        if (aot && !NO_AOT.contains(service.module())) {
+            jvmOptions.add("-Dspring.aot.enabled=true");
+        }
+        if (cds) {
+            jar = train(service, jar, jvmOptions);
+            jvmOptions.add("-XX:SharedArchiveFile=" + archive(jar));
+        }
+
+        List<Map<String, Long>> results = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long started = System.nanoTime();
+            Process process = stack.launch(service, jar, jvmOptions);
+            long deadline = started + TIMEOUT.toNanos();
+
+            while (!succeeds(target.request().apply(service.port()))) {
+                stack.checkRunning(service, process, deadline);
+                Thread.sleep(50);
+            }
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("firstRequestMs", millisSince(started));
+            if (target.eurekaApplication() != null) {
+                while (!registeredUp(target.eurekaApplication(), service.port())) {
+                    stack.checkRunning(service, process, deadline);
+                    Thread.sleep(100);
+                }
+                result.put("registeredMs", millisSince(started));
+            }
+            results.add(result);
+            System.out.printf("%s run %d: %s%n", service.name(), run, result);
+
+            if (run < runs || !target.keepRunning()) {
+                stack.stop(process);
+            }
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("service", service.name());
+        row.put("firstRequestMs", median(results, "firstRequestMs"));
+        row.put("minFirstRequestMs", results.stream().mapToLong(result -> result.get("firstRequestMs")).min().orElse(0));
+        row.put("maxFirstRequestMs", results.stream().mapToLong(result -> result.get("firstRequestMs")).max().orElse(0));
+        row.put("registeredMs", target.eurekaApplication() == null ? null : median(results, "registeredMs"));
+        row.put("runs", results);
+        return row;
+    }
+
+    /**
+     * Extracts the jar, which CDS needs (it does not archive classes loaded from nested jars), and records
+     * the classes loaded up to the context refresh into an archive next to it.
+     */
+    private Path train(Service service, Path jar, List<String> jvmOptions) throws IOException, InterruptedException {
+        Path directory = home.resolve("target/startup").resolve(service.module());
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        exec(List.of(java.toString(), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--force", "--destination", directory.toString()));
+        Path extracted = directory.resolve(jar.getFileName());
+
+        List<String> training = new ArrayList<>(jvmOptions);
+        training.add("-XX:ArchiveClassesAtExit=" + archive(extracted));
+        training.add("-Dspring.context.exit=onRefresh");
+        System.out.printf("Training the CDS archive of %s%n", service.name());
+        Process process = stack.launch(service, extracted, training);
+        if (!process.waitFor(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || !Files.exists(archive(extracted))) {
+            stack.stop(process);
+            throw new IllegalStateException("Training run of " + service.name() + " failed, see " + stack.log(service));
+        }
+        stack.stop(process);
+        return extracted;
+    }
+
+    private static Path archive(Path jar) {
+        return jar.resolveSibling("application.jsa");
+    }
+
+    private static void exec(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Failed: " + String.join(" ", command));
+        }
+    }
+
+    private boolean succeeds(HttpRequest request) throws InterruptedException {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                return false;
+            }
+            if (request.uri().getPath().equals("/api/auth/login")) {
+                token = objectMapper.readTree(response.body()).path("accessToken").asText();
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean registeredUp(String application, int port) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(EUREKA + application))
+                    .header("Accept", "application/json").GET().build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            for (JsonNode instance : objectMapper.readTree(response.body()).path("application").path("instance")) {
+                if (instance.path("port").path("$").asInt() == port && "UP".equals(instance.path("status").asText())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private HttpRequest login(int port) {
+        return post(port, "/api/auth/login", Map.of("username", "loaduser1", "password", TrafficDriver.PASSWORD));
+    }
+
+    private HttpRequest get(int port, String path) {
+        return request(port, path).GET().build();
+    }
+
+    private HttpRequest post(int port, String path, Map<String, ?> body) {
+        try {
+            return request(port, path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(int port, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(10));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static long median(List<Map<String, Long>> results, String key) {
+        long[] values = results.stream().mapToLong(result -> result.get(key)).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static long millisSince(long startedNanos) {
+        return Duration.ofNanos(System.nanoTime() - startedNanos).toMillis();
+    }
+
+    private record Target(Service service, String eurekaApplication, Function<Integer, HttpRequest> request) {
+
+        // Second instances next to the stack's own are stopped; the others serve the services measured after them
+        boolean keepRunning() {
+            return eurekaApplication != null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.microservices.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Answers the two Superset calls made by superset-embed-service: the login that returns an
+ * access token and the guest token request. Tokens are unsigned JWTs carrying only an 'exp'
+ * claim, which is all the service reads from them.
+ */
+public class SupersetStub {
+    private static final long ACCESS_TOKEN_TTL_SECONDS = 3600;
+    private static final long GUEST_TOKEN_TTL_SECONDS = 300;
+
+    private final HttpServer server;
+    private final long latencyMs;
+
+    public SupersetStub(int port, long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/security/login",
+                exchange -> respond(exchange, "{\"access_token\":\"" + token(ACCESS_TOKEN_TTL_SECONDS) + "\"}"));
+        server.createContext("/api/v1/security/guest_token/",
+                exchange -> respond(exchange, "{\"token\":\"" + token(GUEST_TOKEN_TTL_SECONDS) + "\"}"));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        // Stands in for Superset's own processing time
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String token(long ttlSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"jti\":\"" + UUID.randomUUID() + "\",\"exp\":"
+                + Instant.now().plusSeconds(ttlSeconds).getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".";
+    }
+}
@@ -0,0 +1,219 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Closed-model traffic through the gateway: each virtual user logs in, then loops over a weighted
+ * mix of calls with an exponentially distributed think time between them. The {@code dashboard}
+ * scenario is what an open dashboard does; the {@code auth} scenario is a login burst against the
+ * authservice, with token-authenticated calls in between that must stay fast while BCrypt is busy.
+ * Every user runs on its own virtual thread, so thousands of users need no thread pool tuning.
+ */
+public class TrafficDriver {
+    static final String PASSWORD = "loadtest123";
+    private static final int SEEDED_USERS = 50;
+    private static final int GIT_REPOSITORY_PAGES = 40;
+    private static final int DASHBOARDS = 20;
+
+    private final String baseUrl;
+    private final RouteStats stats;
+    private final long thinkMs;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Step> mix = new ArrayList<>();
+    private final int totalWeight;
+
+    public TrafficDriver(String baseUrl, RouteStats stats, long thinkMs, String scenario) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.thinkMs = thinkMs;
+
+        switch (scenario) {
+            case "dashboard" -> dashboard();
+            case "auth" -> auth();
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+        this.totalWeight = mix.stream().mapToInt(Step::weight).sum();
+    }
+
+    // Roughly what an open dashboard does: mostly polling, occasional writes and re-logins
+    private void dashboard() {
+        step("login", 2, (user, token) -> login(user));
+        step("auth.me", 5, (user, token) -> get("/api/auth/me", token));
+        step("svn.dashboard.metrics", 20, (user, token) -> get("/api/svn/dashboard/metrics", token));
+        step("svn.dashboard.backup-summary", 15, (user, token) -> get("/api/svn/dashboard/backup-summary", token));
+        step("svn.backups.full", 5, (user, token) -> get("/api/svn/backups?type=Full", token));
+        step("svn.backups.create", 3, (user, token) -> post("/api/svn/backups",
+                Map.of("type", "Delta", "size", "0 B", "initiatedBy", "loaduser" + user), token));
+        step("git.dashboard.summary", 20, (user, token) -> get("/api/git/dashboard/summary", token));
+        step("git.repositories.page", 15, (user, token) -> get("/api/git/repositories/page?size=50&page="
+                + ThreadLocalRandom.current().nextInt(GIT_REPOSITORY_PAGES), token));
+        step("superset.guest-token", 10, (user, token) -> post("/api/superset/guest-token",
+                Map.of("tenant", "bugzilla", "dashboardId", "dashboard-" + ThreadLocalRandom.current().nextInt(DASHBOARDS)),
+                token));
+    }
+
+    // Every fifth call is a login, each a BCrypt check; the rest are authenticated by the token and the
+    // cached user details, so their latency shows whether a login burst holds up other requests
+    private void auth() {
+        step("login", 1, (user, token) -> login(user));
+        step("auth.me", 4, (user, token) -> get("/api/auth/me", token));
+    }
+
+    /**
+     * Waits until the gateway routes to every service. Routes answer 503 until their service shows
+     * up in the gateway's Eureka cache, and everything but the login needs a token first.
+     */
+    public void awaitRoutes(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String token = null;
+        while (token == null) {
+            try {
+                HttpResponse<byte[]> response = http.send(login(1), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() == 200) {
+                    token = (String) objectMapper.readValue(response.body(), Map.class).get("accessToken");
+                }
+            } catch (IOException e) {
+                // Gateway not listening yet
+            }
+            await(token == null, deadline, "/api/auth/login");
+        }
+        for (String path : List.of("/api/svn/home", "/api/git/home", "/api/superset/guest-token")) {
+            int status;
+            do {
+                try {
+                    status = http.send(get(path, token), HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    status = -1;
+                }
+                await(status == 503 || status == -1, deadline, path);
+            } while (status == 503 || status == -1);
+        }
+    }
+
+    private static void await(boolean retry, long deadlineNanos, String path) throws InterruptedException {
+        if (!retry) {
+            return;
+        }
+        if (System.nanoTime() > deadlineNanos) {
+            throw new IllegalStateException("Gateway did not route " + path + " in time");
+        }
+        Thread.sleep(1000);
+    }
+
+    /**
+     * Runs {@code users} virtual users until {@code deadlineNanos} and returns when all have stopped.
+     */
+    public void run(int users, long deadlineNanos) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i % SEEDED_USERS + 1;
+                executor.submit(() -> runUser(user, deadlineNanos));
+            }
+        }
+    }
+
+    private void runUser(int user, long deadlineNanos) {
+        String token = null;
+        while (System.nanoTime() < deadlineNanos) {
+            Step step = token == null ? mix.get(0) : pick();
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = http.send(step.request().apply(user, token),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                success = response.statusCode() / 100 == 2;
+                if (success && step == mix.get(0)) {
+                    token = (String) objectMapper.readValue(response.body(), Map.class).get("accessToken");
+                } else if (response.statusCode() == 401) {
+                    token = null;
+                }
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(step.name(), System.nanoTime() - start, success);
+
+            if (!think()) {
+                return;
+            }
+        }
+    }
+
+    private Step pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Step step : mix) {
+            ticket -= step.weight();
+            if (ticket < 0) {
+                return step;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private boolean think() {
+        if (thinkMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep((long) (-thinkMs * Math.log(1 - ThreadLocalRandom.current().nextDouble())));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void step(String name, int weight, BiFunction<Integer, String, HttpRequest> request) {
+        mix.add(new Step(name, weight, request));
+    }
+
+    private HttpRequest login(int user) {
+        return post("/api/auth/login", Map.of("username", "loaduser" + user, "password", PASSWORD), null);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, ?> body, String token) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private record Step(String name, int weight, BiFunction<Integer, String, HttpRequest> request) {
+    }
+}
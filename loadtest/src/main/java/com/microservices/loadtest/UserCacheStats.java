@@ -0,0 +1,76 @@
+package com.microservices.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Hits and misses of the authservice's {@code userDetails} cache, read from its Prometheus endpoint. Every
+ * miss on a token-authenticated request is a users-and-roles query, so the misses per second are the
+ * database load the cache leaves. The endpoint only answers on 127.0.0.1, so this needs the service's own
+ * port rather than the gateway.
+ */
+public class UserCacheStats {
+    private static final String GETS = "cache_gets_total{";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String authUrl;
+
+    private double hits;
+    private double misses;
+    private long startNanos;
+
+    public UserCacheStats(String authUrl) {
+        this.authUrl = authUrl;
+    }
+
+    /**
+     * Counts from here on; called at the end of the warm-up.
+     */
+    public void reset() throws IOException, InterruptedException {
+        double[] counts = scrape();
+        hits = counts[0];
+        misses = counts[1];
+        startNanos = System.nanoTime();
+    }
+
+    public void print() throws IOException, InterruptedException {
+        double[] counts = scrape();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double newHits = counts[0] - hits;
+        double newMisses = counts[1] - misses;
+        double total = newHits + newMisses;
+        System.out.printf("%nauthservice userDetails cache: %.0f hits, %.0f misses (%.1f%% hits), %.1f user queries/s%n",
+                newHits, newMisses, total == 0 ? 0 : newHits * 100 / total, newMisses / seconds);
+    }
+
+    private double[] scrape() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(authUrl + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("authservice metrics returned status " + response.statusCode());
+        }
+
+        double[] counts = new double[2];
+        for (String line : response.body().split("\n")) {
+            if (!line.startsWith(GETS) || !line.contains("cache=\"userDetails\"")) {
+                continue;
+            }
+            double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            if (line.contains("result=\"hit\"")) {
+                counts[0] += value;
+            } else if (line.contains("result=\"miss\"")) {
+                counts[1] += value;
+            }
+        }
+        return counts;
+    }
+}
@@ -1,13 +0,0 @@
-package com.config.osticket;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class OsticketApplication {
-
-    public static void main(String[] args) {
-        SpringApplication.run(OsticketApplication.class, args);
-    }
-
-}
@@ -0,0 +1,21 @@
+package com.microservices.supersetembed;
+
+import com.microservices.common.config.ConfigChangeSubscriber;
+import com.microservices.common.config.RegistrationWarmup;
+import com.microservices.common.config.SelectiveConfigurationPropertiesRebinder;
+import com.microservices.common.security.JwksKeyResolver;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+@Import({RegistrationWarmup.class, ConfigChangeSubscriber.class, SelectiveConfigurationPropertiesRebinder.class, JwksKeyResolver.class})
+public class SupersetEmbedApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SupersetEmbedApplication.class, args);
+    }
+
+}
@@ -1,6 +1,4 @@
-package com.config.osticket.config;
-
-
+package com.microservices.supersetembed.config;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
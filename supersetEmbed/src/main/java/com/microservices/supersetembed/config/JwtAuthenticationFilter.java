@@ -1,5 +1,6 @@
-package com.bugzilla.bugzilla.config;
+package com.microservices.supersetembed.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,17 +23,21 @@ import java.util.Collection;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Request attribute holding the verified token claims, e.g. the caller's department
+    public static final String CLAIMS_ATTRIBUTE = "com.microservices.supersetembed.jwt.claims";
+
     @Autowired
-    private JwtUtils JwtUtils;
+    private JwtUtils jwtUtils;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && JwtUtils.validateJwtToken(jwt)) {
-                String username = JwtUtils.getUserNameFromJwtToken(jwt);
-                Collection<GrantedAuthority> authorities = JwtUtils.getAuthoritiesFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
+                Collection<GrantedAuthority> authorities = jwtUtils.getAuthoritiesFromClaims(claims);
 
                 // Create authentication token with extracted authorities from JWT
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
@@ -40,6 +45,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 
                 logger.info("Valid JWT token, authenticated user: {}", username);
             }
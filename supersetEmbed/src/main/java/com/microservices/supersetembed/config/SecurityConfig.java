@@ -1,7 +1,6 @@
-package com.config.osticket.config;
-
-
+package com.microservices.supersetembed.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,18 +9,21 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    private static final WebExpressionAuthorizationManager LOCAL_SCRAPE =
+            new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')");
 
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
 
     @Autowired
-    private JwtAuthenticationFilter JwtAuthenticationFilter;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -31,15 +33,17 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume requests that were already authorized (reactive Superset calls)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
-                        .requestMatchers("/", "/error", "/favicon.ico").permitAll() // Add favicon.ico
-//                        .requestMatchers("/api/git/home").permitAll()
-                        .requestMatchers("/api/superset/**").authenticated()
-                        // Admin-only endpoints
+                        .requestMatchers("/", "/error", "/favicon.ico").permitAll()
+                        // Metrics and health are scraped from the same host only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").access(LOCAL_SCRAPE)
+                        .requestMatchers("/api/superset/**", "/api/osticket/**").authenticated()
                         .anyRequest().authenticated());
 
         // Add our JWT filter
-        http.addFilterBefore(JwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
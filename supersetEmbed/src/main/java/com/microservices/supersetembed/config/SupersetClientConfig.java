@@ -0,0 +1,42 @@
+package com.microservices.supersetembed.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking HTTP client shared by all tenants: pooled, keep-alive connections with bounded timeouts.
+ * Reactor Netty keeps a separate pool per Superset host inside the one provider.
+ */
+@Configuration
+public class SupersetClientConfig {
+
+    @Bean
+    public WebClient supersetWebClient(SupersetConfig config, WebClient.Builder webClientBuilder) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("superset")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(Duration.ofMinutes(5))
+                // Publishes reactor.netty.connection.provider.* pool gauges to Micrometer
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(config.getReadTimeoutMs()))
+                .keepAlive(true)
+                .metrics(true, uri -> "/superset");
+
+        // The Boot-managed builder adds the observation filter, so calls are traced and timed
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.microservices.supersetembed.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Superset connection settings. The HTTP pool, concurrency limit and token caches are shared by
+ * all tenants; each tenant only brings its own Superset instance and service account.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "superset")
+@Data
+public class SupersetConfig {
+    private int connectTimeoutMs = 5000;
+    private int readTimeoutMs = 10000;
+    private int maxConnections = 20;
+    // Upper bound on Superset calls in flight at once, across all tenants
+    private int maxConcurrentRequests = 10;
+    // Tokens are refreshed this long before they expire
+    private long tokenExpirySkewSeconds = 30;
+    // Used when a token's expiry cannot be read from its payload
+    private long accessTokenTtlSeconds = 900;
+    private long guestTokenTtlSeconds = 300;
+
+    // Tenant used when a request does not name one and several tenants list the dashboard
+    private String defaultTenant = "bugzilla";
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Tenant {
+        private String url;
+        private String username;
+        private String password;
+        // Dashboards this tenant serves; it serves none it does not list
+        private List<String> dashboards = new ArrayList<>();
+        // Row-level security rules applied to guest tokens; empty leaves dashboards unfiltered
+        private List<RlsRule> rls = new ArrayList<>();
+    }
+
+    /**
+     * Maps caller roles to a Superset RLS clause. The clause may reference {department},
+     * which is filled from the caller's JWT.
+     */
+    @Data
+    public static class RlsRule {
+        private List<String> roles = new ArrayList<>();
+        // Callers with a matching role see unfiltered data, regardless of other rules
+        private boolean unrestricted;
+        // Superset dataset id the clause applies to; null applies it to every dataset
+        private Integer dataset;
+        private String clause;
+    }
+}
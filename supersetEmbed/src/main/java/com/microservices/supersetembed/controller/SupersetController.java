@@ -0,0 +1,57 @@
+package com.microservices.supersetembed.controller;
+
+import com.microservices.supersetembed.config.JwtAuthenticationFilter;
+import com.microservices.supersetembed.dto.GuestTokenRequest;
+import com.microservices.supersetembed.dto.GuestTokenResponse;
+import com.microservices.supersetembed.service.SupersetService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class SupersetController {
+
+    private final SupersetService service;
+
+    // Path of the former Bugzilla service; the tenant is taken from the body or resolved from the dashboard
+    @PostMapping("/api/superset/guest-token")
+    public Mono<GuestTokenResponse> getGuestToken(@RequestBody GuestTokenRequest request,
+                                                  Authentication authentication,
+                                                  @RequestAttribute(name = JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+        return service.getGuestToken(request, roles(authentication), department(claims));
+    }
+
+    @PostMapping("/api/superset/{tenant}/guest-token")
+    public Mono<GuestTokenResponse> getTenantGuestToken(@PathVariable String tenant,
+                                                        @RequestBody GuestTokenRequest request,
+                                                        Authentication authentication,
+                                                        @RequestAttribute(name = JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+        request.setTenant(tenant);
+        return service.getGuestToken(request, roles(authentication), department(claims));
+    }
+
+    // Path of the former osticket service
+    @PostMapping("/api/osticket/guest-token")
+    public Mono<GuestTokenResponse> getOsticketGuestToken(@RequestBody GuestTokenRequest request,
+                                                          Authentication authentication,
+                                                          @RequestAttribute(name = JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+        request.setTenant("osticket");
+        return service.getGuestToken(request, roles(authentication), department(claims));
+    }
+
+    private static List<String> roles(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+
+    private static String department(Claims claims) {
+        return claims != null ? claims.get("department", String.class) : null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.microservices.supersetembed.dto;
+
+import lombok.Data;
+
+@Data
+public class GuestTokenRequest {
+    private String dashboardId;
+    // Optional; must be a tenant that lists the dashboard, resolved from the dashboard id when absent
+    private String tenant;
+}
@@ -1,4 +1,4 @@
-package com.bugzilla.bugzilla.dto;
+package com.microservices.supersetembed.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,4 +7,4 @@ import lombok.Data;
 @AllArgsConstructor
 public class GuestTokenResponse {
     private String token;
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.microservices.supersetembed.service;
+
+import com.microservices.supersetembed.config.SupersetConfig;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the Superset "rls" section of a guest token request from the caller's roles and department.
+ * Compiled clause lists are cached per tenant, role set and department, and callers that end up
+ * with identical clauses can share one guest token.
+ */
+@Service
+public class RowLevelSecurityService {
+
+    private static final String DEPARTMENT_PLACEHOLDER = "{department}";
+
+    // Matches no rows; used when a rule needs a department the caller does not have
+    private static final String DENY_ALL = "1 = 0";
+
+    private final Map<String, List<Map<String, Object>>> compiledRules = new ConcurrentHashMap<>();
+
+    public List<Map<String, Object>> clausesFor(String tenantName, SupersetConfig.Tenant tenant,
+                                                Collection<String> roles, String department) {
+        if (tenant.getRls().isEmpty()) {
+            return List.of();
+        }
+
+        String key = tenantName + "|" + new TreeSet<>(roles) + "|" + department;
+        return compiledRules.computeIfAbsent(key, k -> compile(tenant, roles, department));
+    }
+
+    /**
+     * Drops all compiled rules, e.g. after the tenant configuration changed.
+     */
+    public void clearCache() {
+        compiledRules.clear();
+    }
+
+    private List<Map<String, Object>> compile(SupersetConfig.Tenant tenant, Collection<String> roles, String department) {
+        List<Map<String, Object>> clauses = new ArrayList<>();
+        boolean matched = false;
+
+        for (SupersetConfig.RlsRule rule : tenant.getRls()) {
+            if (Collections.disjoint(rule.getRoles(), roles)) {
+                continue;
+            }
+            if (rule.isUnrestricted()) {
+                return List.of();
+            }
+            matched = true;
+
+            String clause = rule.getClause();
+            if (clause.contains(DEPARTMENT_PLACEHOLDER)) {
+                clause = department == null
+                        ? DENY_ALL
+                        : clause.replace(DEPARTMENT_PLACEHOLDER, department.replace("'", "''"));
+            }
+            clauses.add(clause(rule.getDataset(), clause));
+        }
+
+        // Rules are configured but none applies to this caller: show nothing rather than everything
+        if (!matched) {
+            clauses.add(clause(null, DENY_ALL));
+        }
+        return List.copyOf(clauses);
+    }
+
+    private static Map<String, Object> clause(Integer dataset, String clause) {
+        Map<String, Object> rls = new LinkedHashMap<>();
+        if (dataset != null) {
+            rls.put("dataset", dataset);
+        }
+        rls.put("clause", clause);
+        return Collections.unmodifiableMap(rls);
+    }
+}
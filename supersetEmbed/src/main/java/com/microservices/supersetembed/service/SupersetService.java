@@ -0,0 +1,436 @@
+package com.microservices.supersetembed.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.common.config.ConfigurationChangedEvent;
+import com.microservices.supersetembed.config.SupersetConfig;
+import com.microservices.supersetembed.dto.GuestTokenRequest;
+import com.microservices.supersetembed.dto.GuestTokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Issues Superset guest tokens for every configured tenant from one process.
+ * Tenants that point at the same Superset instance and service account share one access token
+ * and one guest-token cache, so a dashboard embedded by several tenants is fetched once.
+ */
+@Service
+public class SupersetService {
+    private static final Logger logger = LoggerFactory.getLogger(SupersetService.class);
+
+    private final SupersetConfig config;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final RowLevelSecurityService rowLevelSecurityService;
+    private volatile Semaphore permits;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // One entry per distinct Superset instance + service account
+    private final Map<String, SupersetConnection> connections = new ConcurrentHashMap<>();
+
+    // Guest tokens are issued for a fixed guest user, so they can be shared per connection, dashboard and RLS rule set
+    private final Map<String, CachedToken> guestTokens = new ConcurrentHashMap<>();
+
+    // Single-flight: concurrent callers for the same dashboard share one Superset call
+    private final Map<String, CompletableFuture<CachedToken>> guestTokensInFlight = new ConcurrentHashMap<>();
+
+    // Connection key of each tenant under the settings last applied, to find the tokens a change makes stale
+    private volatile Map<String, String> tenantConnectionKeys;
+
+    public SupersetService(SupersetConfig config,
+                           @Qualifier("supersetWebClient") WebClient webClient,
+                           MeterRegistry meterRegistry,
+                           RowLevelSecurityService rowLevelSecurityService) {
+        this.config = config;
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.rowLevelSecurityService = rowLevelSecurityService;
+        this.permits = new Semaphore(config.getMaxConcurrentRequests());
+        this.tenantConnectionKeys = tenantConnectionKeys();
+    }
+
+    /**
+     * Get a guest token for a dashboard, filtered by the row-level security rules that apply
+     * to the caller's roles and department.
+     */
+    public Mono<GuestTokenResponse> getGuestToken(GuestTokenRequest request, Collection<String> roles, String department) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String dashboardId = request.getDashboardId();
+        if (dashboardId == null || dashboardId.isBlank()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "dashboardId is required"));
+        }
+
+        String tenantName = resolveTenant(request.getTenant(), dashboardId);
+        SupersetConfig.Tenant tenant = config.getTenants().get(tenantName);
+        SupersetConnection connection = connections.computeIfAbsent(
+                connectionKey(tenant), key -> new SupersetConnection(tenant));
+        List<Map<String, Object>> rls = rowLevelSecurityService.clausesFor(tenantName, tenant, roles, department);
+
+        String cacheKey = connection.key + "|" + dashboardId + "|" + rls;
+        CachedToken cached = guestTokens.get(cacheKey);
+        if (cached != null && cached.isValidFor(expirySkew())) {
+            sample.stop(guestTokenTimer("cache", "success"));
+            return Mono.just(new GuestTokenResponse(cached.value()));
+        }
+
+        CompletableFuture<CachedToken> created = new CompletableFuture<>();
+        CompletableFuture<CachedToken> call = guestTokensInFlight.putIfAbsent(cacheKey, created);
+        String source = call == null ? "fetch" : "shared";
+        if (call == null) {
+            call = created;
+            // Carries the caller's trace into the Superset call
+            fetchGuestToken(connection, dashboardId, rls).contextCapture().subscribe(
+                    token -> {
+                        guestTokens.put(cacheKey, token);
+                        guestTokensInFlight.remove(cacheKey, created);
+                        created.complete(token);
+                    },
+                    error -> {
+                        guestTokensInFlight.remove(cacheKey, created);
+                        created.completeExceptionally(error);
+                    });
+        }
+
+        // A viewer disconnecting must not cancel the call other viewers are waiting on
+        return Mono.fromFuture(call, true)
+                .doOnEach(signal -> {
+                    if (signal.isOnNext() || signal.isOnError()) {
+                        sample.stop(guestTokenTimer(source, signal.isOnError() ? "error" : "success"));
+                    }
+                })
+                .map(token -> new GuestTokenResponse(token.value()));
+    }
+
+    // End-to-end guest token latency, split by whether it came from the cache, a shared call or a new fetch
+    private Timer guestTokenTimer(String source, String outcome) {
+        return Timer.builder("superset.guest.token")
+                .description("Latency of guest token requests")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refreshes each connection's access token before it expires, so requests never wait for a login.
+     */
+    @Scheduled(fixedDelayString = "${superset.token-refresh-check-ms:15000}")
+    public void refreshAccessTokensInBackground() {
+        guestTokens.values().removeIf(token -> !token.isValidFor(Duration.ZERO));
+
+        for (SupersetConnection connection : connections.values()) {
+            CachedToken token = connection.accessToken;
+            if (token == null || token.isValidFor(expirySkew().multipliedBy(2))) {
+                continue;
+            }
+            Mono.fromFuture(login(connection), true)
+                    .subscribe(refreshed -> { }, error -> logger.error("Background Superset login for {} failed: {}",
+                            connection.url, error.getMessage()));
+        }
+    }
+
+    /**
+     * Applies pushed changes of the superset settings. Connections are opened again with the new
+     * credentials on their next use, and the concurrency limit is replaced; calls in flight finish
+     * under the old one. Compiled row-level security rules are dropped, and so are the cached guest
+     * tokens of the connections changed tenants used before and after the change, so no token issued
+     * under the old rules or credentials is handed out again. Timeouts and the HTTP pool size need a
+     * restart.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (!event.affects("superset")) {
+            return;
+        }
+        connections.clear();
+        permits = new Semaphore(config.getMaxConcurrentRequests());
+        rowLevelSecurityService.clearCache();
+
+        Map<String, String> before = tenantConnectionKeys;
+        Map<String, String> after = tenantConnectionKeys();
+        tenantConnectionKeys = after;
+
+        Set<String> changedTenants = changedTenants(event.getKeys());
+        Set<String> stale = changedTenants.stream()
+                .flatMap(tenant -> Stream.of(before.get(tenant), after.get(tenant)))
+                .filter(Objects::nonNull)
+                .map(key -> key + "|")
+                .collect(Collectors.toSet());
+        guestTokens.keySet().removeIf(key -> stale.stream().anyMatch(key::startsWith));
+        logger.info("Superset settings changed, {} tenants configured, guest tokens of {} dropped",
+                config.getTenants().size(), changedTenants);
+    }
+
+    // Tenant names from changed keys such as superset.tenants.acme.rls[0].clause
+    private static Set<String> changedTenants(Set<String> keys) {
+        ConfigurationPropertyName tenants = ConfigurationPropertyName.of("superset.tenants");
+        Set<String> names = new TreeSet<>();
+        for (String key : keys) {
+            ConfigurationPropertyName name = ConfigurationPropertyName.adapt(key, '.');
+            if (tenants.isAncestorOf(name) && name.getNumberOfElements() > 2) {
+                names.add(name.getElement(2, ConfigurationPropertyName.Form.ORIGINAL));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Picks the tenant that serves a dashboard. Only the tenants that list a dashboard serve it, and a
+     * tenant named by the caller must be one of them, so a caller cannot take another tenant's
+     * dashboard through a tenant with weaker row-level security. The default tenant decides when
+     * several tenants list the dashboard and the caller names none.
+     */
+    private String resolveTenant(String tenantName, String dashboardId) {
+        if (tenantName != null && !config.getTenants().containsKey(tenantName)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown Superset tenant: " + tenantName);
+        }
+
+        List<String> serving = config.getTenants().entrySet().stream()
+                .filter(tenant -> tenant.getValue().getDashboards().contains(dashboardId))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (serving.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No Superset tenant serves dashboard " + dashboardId);
+        }
+
+        if (tenantName != null) {
+            if (!serving.contains(tenantName)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                        "Dashboard " + dashboardId + " is not available to tenant " + tenantName);
+            }
+            return tenantName;
+        }
+        if (serving.size() == 1) {
+            return serving.get(0);
+        }
+        if (serving.contains(config.getDefaultTenant())) {
+            return config.getDefaultTenant();
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Dashboard " + dashboardId + " is served by tenants " + serving + ", name one of them");
+    }
+
+    private Map<String, String> tenantConnectionKeys() {
+        return config.getTenants().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, tenant -> connectionKey(tenant.getValue())));
+    }
+
+    private static String connectionKey(SupersetConfig.Tenant tenant) {
+        return tenant.getUrl() + "|" + tenant.getUsername();
+    }
+
+    private Mono<CachedToken> fetchGuestToken(SupersetConnection connection, String dashboardId,
+                                              List<Map<String, Object>> rls) {
+        return getAccessToken(connection)
+                .flatMap(token -> requestGuestToken(connection, dashboardId, rls, token))
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    // Access token was revoked or expired early; log in again once
+                    logger.warn("Superset {} rejected cached access token, logging in again", connection.url);
+                    connection.accessToken = null;
+                    return getAccessToken(connection).flatMap(token -> requestGuestToken(connection, dashboardId, rls, token));
+                });
+    }
+
+    private Mono<String> getAccessToken(SupersetConnection connection) {
+        CachedToken token = connection.accessToken;
+        if (token != null && token.isValidFor(expirySkew())) {
+            return Mono.just(token.value());
+        }
+        return Mono.fromFuture(login(connection), true).map(CachedToken::value);
+    }
+
+    private CompletableFuture<CachedToken> login(SupersetConnection connection) {
+        while (true) {
+            CompletableFuture<CachedToken> current = connection.loginInFlight.get();
+            if (current != null) {
+                return current;
+            }
+            CompletableFuture<CachedToken> future = new CompletableFuture<>();
+            if (connection.loginInFlight.compareAndSet(null, future)) {
+                requestAccessToken(connection).contextCapture().subscribe(
+                        token -> {
+                            connection.accessToken = token;
+                            connection.loginInFlight.set(null);
+                            future.complete(token);
+                        },
+                        error -> {
+                            connection.loginInFlight.set(null);
+                            future.completeExceptionally(error);
+                        });
+                return future;
+            }
+        }
+    }
+
+    private Mono<CachedToken> requestAccessToken(SupersetConnection connection) {
+        // Step 1: Login
+        Map<String, Object> loginPayload = Map.of(
+                "username", connection.username,
+                "password", connection.password,
+                "provider", "db",
+                "refresh", true
+        );
+
+        Mono<Map> loginResp = webClient.post()
+                .uri(connection.url + "/api/v1/security/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginPayload)
+                .retrieve()
+                .bodyToMono(Map.class);
+
+        return limited(connection, "login", loginResp)
+                .map(body -> {
+                    String token = (String) body.get("access_token");
+                    return new CachedToken(token, readExpiry(token, config.getAccessTokenTtlSeconds()));
+                });
+    }
+
+    private Mono<CachedToken> requestGuestToken(SupersetConnection connection, String dashboardId,
+                                                List<Map<String, Object>> rls, String accessToken) {
+        // Step 2: Guest Token Request
+        Map<String, Object> guestPayload = Map.of(
+                "user", Map.of(
+                        "username", "guest",
+                        "first_name", "Guest",
+                        "last_name", "User",
+                        "email", "guest@gmail.com"
+                ),
+                "resources", new Object[] {
+                        Map.of("type", "dashboard", "id", dashboardId)
+                },
+                "rls", rls
+        );
+
+        Mono<Map> guestTokenResp = webClient.post()
+                .uri(connection.url + "/api/v1/security/guest_token/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .bodyValue(guestPayload)
+                .retrieve()
+                .bodyToMono(Map.class);
+
+        return limited(connection, "guest_token", guestTokenResp)
+                .map(body -> {
+                    String token = (String) body.get("token");
+                    return new CachedToken(token, readExpiry(token, config.getGuestTokenTtlSeconds()));
+                });
+    }
+
+    /**
+     * Runs a Superset call under the shared concurrency limit and records its latency per step.
+     * Calls over the limit are rejected immediately rather than queued.
+     */
+    private <T> Mono<T> limited(SupersetConnection connection, String step, Mono<T> call) {
+        return Mono.defer(() -> {
+            // Released to the limit it was taken from, even if the limit is replaced meanwhile
+            Semaphore permits = this.permits;
+            if (!permits.tryAcquire()) {
+                meterRegistry.counter("superset.client.rejected", "step", step).increment();
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Superset is busy, please retry"));
+            }
+
+            long start = System.nanoTime();
+            // Released before the result is passed on: a login hands its token straight to the guest token
+            // call waiting on it, which needs a permit of its own
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            return call
+                    .doOnEach(signal -> {
+                        if (signal.isOnNext() || signal.isOnError()) {
+                            timer(connection, step, signal.isOnError() ? "error" : "success")
+                                    .record(Duration.ofNanos(System.nanoTime() - start));
+                            release.run();
+                        }
+                    })
+                    .doFinally(signal -> release.run());
+        });
+    }
+
+    private Timer timer(SupersetConnection connection, String step, String outcome) {
+        return Timer.builder("superset.client.requests")
+                .description("Latency of Superset API calls per step")
+                .tag("superset", connection.url)
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the 'exp' claim of a Superset JWT without verifying it; the token is only
+     * inspected to decide when to fetch a new one.
+     */
+    private Instant readExpiry(String jwt, long fallbackTtlSeconds) {
+        try {
+            String payload = jwt.split("\\.")[1];
+            JsonNode claims = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8));
+            if (claims.has("exp")) {
+                return Instant.ofEpochSecond(claims.get("exp").asLong());
+            }
+        } catch (Exception e) {
+            logger.debug("Could not read Superset token expiry: {}", e.getMessage());
+        }
+        return Instant.now().plusSeconds(fallbackTtlSeconds);
+    }
+
+    private Duration expirySkew() {
+        return Duration.ofSeconds(config.getTokenExpirySkewSeconds());
+    }
+
+    private static final class SupersetConnection {
+        private final String key;
+        private final String url;
+        private final String username;
+        private final String password;
+        private final AtomicReference<CompletableFuture<CachedToken>> loginInFlight = new AtomicReference<>();
+        private volatile CachedToken accessToken;
+
+        private SupersetConnection(SupersetConfig.Tenant tenant) {
+            this.key = connectionKey(tenant);
+            this.url = tenant.getUrl();
+            this.username = tenant.getUsername();
+            this.password = tenant.getPassword();
+        }
+    }
+
+    private record CachedToken(String value, Instant expiresAt) {
+        boolean isValidFor(Duration duration) {
+            return Instant.now().plus(duration).isBefore(expiresAt);
+        }
+    }
+}
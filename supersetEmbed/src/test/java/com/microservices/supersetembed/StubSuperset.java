@@ -0,0 +1,118 @@
+package com.microservices.supersetembed;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the two Superset calls the service makes, the login and the guest token
+ * request, counting both. Tokens are unsigned JWTs carrying an 'exp' claim, which is all the service
+ * reads from them.
+ */
+public class StubSuperset implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger guestTokens = new AtomicInteger();
+    private final List<String> guestTokenRequests = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean rejectNextGuestToken = new AtomicBoolean();
+
+    private volatile long latencyMs;
+    private volatile long accessTokenTtlSeconds = 3600;
+    private volatile long guestTokenTtlSeconds = 300;
+
+    public StubSuperset() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v1/security/login", exchange -> {
+            logins.incrementAndGet();
+            respond(exchange, 200, "{\"access_token\":\"" + token(accessTokenTtlSeconds) + "\"}");
+        });
+        server.createContext("/api/v1/security/guest_token/", exchange -> {
+            guestTokens.incrementAndGet();
+            guestTokenRequests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            if (rejectNextGuestToken.getAndSet(false)) {
+                respond(exchange, 401, "{\"msg\":\"Token has expired\"}");
+            } else {
+                respond(exchange, 200, "{\"token\":\"" + token(guestTokenTtlSeconds) + "\"}");
+            }
+        });
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int logins() {
+        return logins.get();
+    }
+
+    public int guestTokens() {
+        return guestTokens.get();
+    }
+
+    // Bodies of the guest token requests received so far
+    public List<String> guestTokenRequests() {
+        return guestTokenRequests;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setAccessTokenTtlSeconds(long accessTokenTtlSeconds) {
+        this.accessTokenTtlSeconds = accessTokenTtlSeconds;
+    }
+
+    public void setGuestTokenTtlSeconds(long guestTokenTtlSeconds) {
+        this.guestTokenTtlSeconds = guestTokenTtlSeconds;
+    }
+
+    // Answers the next guest token request with 401, as Superset does for a revoked access token
+    public void rejectNextGuestToken() {
+        rejectNextGuestToken.set(true);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String token(long ttlSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"jti\":\"" + UUID.randomUUID() + "\",\"exp\":"
+                + Instant.now().plusSeconds(ttlSeconds).getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".";
+    }
+}
@@ -1,10 +1,10 @@
-package com.config.osticket;
+package com.microservices.supersetembed;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
-class OsticketApplicationTests {
+class SupersetEmbedApplicationTests {
 
     @Test
     void contextLoads() {
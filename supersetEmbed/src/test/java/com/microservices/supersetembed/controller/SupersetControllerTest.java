@@ -0,0 +1,134 @@
+package com.microservices.supersetembed.controller;
+
+import com.microservices.supersetembed.StubSuperset;
+import com.microservices.supersetembed.config.JwtAuthenticationFilter;
+import com.microservices.supersetembed.config.SupersetConfig;
+import com.microservices.supersetembed.service.RowLevelSecurityService;
+import com.microservices.supersetembed.service.SupersetService;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two tenants on one Superset instance: bugzilla without row-level security, osticket filtering
+ * users by department. A user must not reach the osticket dashboard through the bugzilla tenant.
+ */
+class SupersetControllerTest {
+
+    private static final String BUGZILLA_DASHBOARD = "bugzilla-dashboard";
+    private static final String OSTICKET_DASHBOARD = "osticket-dashboard";
+
+    private StubSuperset superset;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        superset = new StubSuperset();
+
+        SupersetConfig config = new SupersetConfig();
+        config.getTenants().put("bugzilla", tenant(superset.url(), BUGZILLA_DASHBOARD));
+        SupersetConfig.Tenant osticket = tenant(superset.url(), OSTICKET_DASHBOARD);
+        SupersetConfig.RlsRule byDepartment = new SupersetConfig.RlsRule();
+        byDepartment.setRoles(List.of("ROLE_USER"));
+        byDepartment.setClause("department = '{department}'");
+        osticket.getRls().add(byDepartment);
+        config.getTenants().put("osticket", osticket);
+        // Lists nothing; it used to serve any dashboard
+        config.getTenants().put("legacy", tenant(superset.url(), null));
+
+        SupersetService service = new SupersetService(config, WebClient.builder().build(),
+                new SimpleMeterRegistry(), new RowLevelSecurityService());
+        mockMvc = MockMvcBuilders.standaloneSetup(new SupersetController(service)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        superset.close();
+    }
+
+    @Test
+    void dashboardOfAnotherTenantIsForbiddenThroughTheTenantPath() throws Exception {
+        mockMvc.perform(asUser(post("/api/superset/bugzilla/guest-token"), OSTICKET_DASHBOARD, null))
+                .andExpect(status().isForbidden());
+
+        assertThat(superset.guestTokens()).isZero();
+    }
+
+    @Test
+    void dashboardOfAnotherTenantIsForbiddenThroughTheRequestBody() throws Exception {
+        mockMvc.perform(asUser(post("/api/superset/guest-token"), OSTICKET_DASHBOARD, "bugzilla"))
+                .andExpect(status().isForbidden());
+
+        assertThat(superset.guestTokens()).isZero();
+    }
+
+    @Test
+    void tenantWithoutDashboardsServesNone() throws Exception {
+        mockMvc.perform(asUser(post("/api/superset/legacy/guest-token"), OSTICKET_DASHBOARD, null))
+                .andExpect(status().isForbidden());
+
+        assertThat(superset.guestTokens()).isZero();
+    }
+
+    @Test
+    void dashboardNotListedByAnyTenantIsNotFound() throws Exception {
+        mockMvc.perform(asUser(post("/api/superset/guest-token"), "unlisted-dashboard", null))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void tenantIsResolvedFromTheDashboardWithItsRowLevelSecurity() throws Exception {
+        MvcResult result = mockMvc.perform(asUser(post("/api/superset/guest-token"), OSTICKET_DASHBOARD, null))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+
+        assertThat(superset.guestTokenRequests()).singleElement().asString().contains("department = 'dev'");
+    }
+
+    private static MockHttpServletRequestBuilder asUser(MockHttpServletRequestBuilder request, String dashboardId,
+                                                        String tenant) {
+        String body = tenant == null
+                ? "{\"dashboardId\":\"" + dashboardId + "\"}"
+                : "{\"dashboardId\":\"" + dashboardId + "\",\"tenant\":\"" + tenant + "\"}";
+        return request
+                .principal(new UsernamePasswordAuthenticationToken("user", null,
+                        List.of(new SimpleGrantedAuthority("ROLE_USER"))))
+                .requestAttr(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, Jwts.claims(Map.of("department", "dev")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private static SupersetConfig.Tenant tenant(String url, String dashboard) {
+        SupersetConfig.Tenant tenant = new SupersetConfig.Tenant();
+        tenant.setUrl(url);
+        tenant.setUsername("admin");
+        tenant.setPassword("admin");
+        if (dashboard != null) {
+            tenant.getDashboards().add(dashboard);
+        }
+        return tenant;
+    }
+}
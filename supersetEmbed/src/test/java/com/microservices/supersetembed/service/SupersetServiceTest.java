@@ -0,0 +1,159 @@
+package com.microservices.supersetembed.service;
+
+import com.microservices.supersetembed.StubSuperset;
+import com.microservices.supersetembed.config.SupersetConfig;
+import com.microservices.supersetembed.dto.GuestTokenRequest;
+import com.microservices.supersetembed.dto.GuestTokenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Guest tokens against a stub Superset: what reaches Superset when many viewers open dashboards at once.
+ */
+class SupersetServiceTest {
+
+    private static final List<String> USER = List.of("ROLE_USER");
+
+    private StubSuperset superset;
+    private SupersetConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private SupersetService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        superset = new StubSuperset();
+
+        config = new SupersetConfig();
+        SupersetConfig.Tenant tenant = new SupersetConfig.Tenant();
+        tenant.setUrl(superset.url());
+        tenant.setUsername("admin");
+        tenant.setPassword("admin");
+        tenant.getDashboards().addAll(List.of("dashboard-0", "dashboard-1", "dashboard-2"));
+        SupersetConfig.RlsRule byDepartment = new SupersetConfig.RlsRule();
+        byDepartment.setRoles(USER);
+        byDepartment.setClause("department = '{department}'");
+        tenant.getRls().add(byDepartment);
+        config.getTenants().put("osticket", tenant);
+        config.setDefaultTenant("osticket");
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SupersetService(config, WebClient.builder().build(), meterRegistry, new RowLevelSecurityService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        superset.close();
+    }
+
+    @Test
+    void concurrentViewersOfADashboardShareOneLoginAndOneGuestTokenCall() {
+        superset.setLatencyMs(300);
+
+        List<CompletableFuture<GuestTokenResponse>> viewers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            viewers.add(guestToken("dashboard-0", "dev").toFuture());
+        }
+
+        assertThat(viewers).map(CompletableFuture::join).map(GuestTokenResponse::getToken).containsOnly(
+                viewers.get(0).join().getToken());
+        assertThat(superset.logins()).isEqualTo(1);
+        assertThat(superset.guestTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void tokensAreCachedPerRowLevelSecurityFilter() {
+        String dev = guestToken("dashboard-0", "dev").block().getToken();
+        String support = guestToken("dashboard-0", "support").block().getToken();
+
+        assertThat(support).isNotEqualTo(dev);
+        assertThat(guestToken("dashboard-0", "dev").block().getToken()).isEqualTo(dev);
+        assertThat(superset.guestTokens()).isEqualTo(2);
+        assertThat(superset.guestTokenRequests().get(1)).contains("department = 'support'");
+    }
+
+    @Test
+    void callsOverTheConcurrencyLimitAreRejectedWithServiceUnavailable() throws Exception {
+        config.setMaxConcurrentRequests(1);
+        service = new SupersetService(config, WebClient.builder().build(), meterRegistry, new RowLevelSecurityService());
+        // Log in first, so the two calls below only need a guest token each
+        guestToken("dashboard-0", "dev").block();
+        superset.setLatencyMs(500);
+
+        CompletableFuture<GuestTokenResponse> first = guestToken("dashboard-1", "dev").toFuture();
+        awaitGuestTokenCalls(2);
+
+        assertThatThrownBy(() -> guestToken("dashboard-2", "dev").block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(first.join().getToken()).isNotBlank();
+        assertThat(superset.guestTokens()).isEqualTo(2);
+        assertThat(meterRegistry.counter("superset.client.rejected", "step", "guest_token").count()).isEqualTo(1);
+    }
+
+    @Test
+    void revokedAccessTokenIsReplacedByALoginAndTheCallRetried() {
+        guestToken("dashboard-0", "dev").block();
+        superset.rejectNextGuestToken();
+
+        assertThat(guestToken("dashboard-1", "dev").block().getToken()).isNotBlank();
+        assertThat(superset.logins()).isEqualTo(2);
+        assertThat(superset.guestTokens()).isEqualTo(3);
+    }
+
+    @Test
+    void accessTokenCloseToExpiryIsRefreshedInTheBackground() throws Exception {
+        // Valid for another 40 s: still used for requests, but within twice the 30 s refresh skew
+        superset.setAccessTokenTtlSeconds(40);
+        guestToken("dashboard-0", "dev").block();
+        superset.setAccessTokenTtlSeconds(3600);
+
+        service.refreshAccessTokensInBackground();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (superset.logins() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(superset.logins()).isEqualTo(2);
+        guestToken("dashboard-1", "dev").block();
+        assertThat(superset.logins()).isEqualTo(2);
+    }
+
+    @Test
+    void guestTokenCloseToExpiryIsNotServedFromTheCache() {
+        // Expires within the 30 s skew, so a viewer would get a token that dies while the dashboard loads
+        superset.setGuestTokenTtlSeconds(20);
+        String first = guestToken("dashboard-0", "dev").block().getToken();
+
+        assertThat(guestToken("dashboard-0", "dev").block().getToken()).isNotEqualTo(first);
+        assertThat(superset.guestTokens()).isEqualTo(2);
+        assertThat(superset.logins()).isEqualTo(1);
+    }
+
+    private Mono<GuestTokenResponse> guestToken(String dashboardId, String department) {
+        GuestTokenRequest request = new GuestTokenRequest();
+        request.setDashboardId(dashboardId);
+        return service.getGuestToken(request, USER, department);
+    }
+
+    private void awaitGuestTokenCalls(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (superset.guestTokens() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(superset.guestTokens()).isEqualTo(calls);
+    }
+}